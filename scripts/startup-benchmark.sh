@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+#
+# Reports time-to-first-successful-request for the plain jar and for the fast-startup build
+# (Spring AOT + AppCDS). Build both variants first:
+#
+#   ./mvnw -Pfast-startup package -DskipTests
+#
+# Usage: scripts/startup-benchmark.sh [runs] [extra JVM/application args for both variants...]
+#   e.g. scripts/startup-benchmark.sh 5 --spring.main.lazy-initialization=true
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+shift || true
+EXTRA_ARGS=("$@")
+PORT="${PORT:-18080}"
+JAR_NAME="store-0.0.1-SNAPSHOT.jar"
+APP_DIR="target/application"
+
+if [[ ! -f "target/${JAR_NAME}" || ! -f "${APP_DIR}/application.jsa" ]]; then
+    echo "Missing build output, run: ./mvnw -Pfast-startup package -DskipTests" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the given command, polls GET /products until it returns 200 and prints the elapsed milliseconds.
+measure() {
+    local dir="$1"
+    shift
+    local start
+    start=$(now_ms)
+    (cd "${dir}" && exec "$@" --server.port="${PORT}" "${EXTRA_ARGS[@]}" >/dev/null 2>&1) &
+    local pid=$!
+    until curl -sf -o /dev/null -u user:user "http://localhost:${PORT}/products"; do
+        if ! kill -0 "${pid}" 2>/dev/null; then
+            echo "application exited before serving a request" >&2
+            return 1
+        fi
+        sleep 0.02
+    done
+    local elapsed=$(( $(now_ms) - start ))
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    echo "${elapsed}"
+}
+
+report() {
+    local label="$1"
+    shift
+    local total=0 best=""
+    for ((i = 1; i <= RUNS; i++)); do
+        local ms
+        ms=$(measure "$@")
+        total=$((total + ms))
+        if [[ -z "${best}" || ms -lt best ]]; then
+            best=${ms}
+        fi
+    done
+    printf '%-14s avg %6d ms   best %6d ms   (%d runs)\n' "${label}" $((total / RUNS)) "${best}" "${RUNS}"
+}
+
+report "baseline" target java -jar "${JAR_NAME}"
+report "fast-startup" "${APP_DIR}" java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "${JAR_NAME}"
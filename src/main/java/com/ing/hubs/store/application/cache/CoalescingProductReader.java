@@ -0,0 +1,72 @@
+package com.ing.hubs.store.application.cache;
+
+import com.ing.hubs.store.domain.entity.Product;
+import com.ing.hubs.store.domain.service.ProductService;
+import com.ing.hubs.store.infra.concurrency.SingleFlight;
+import com.ing.hubs.store.infra.concurrency.SingleFlightProperties;
+import com.ing.hubs.store.infra.datasource.ReadYourWritesTracker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sits in front of {@link ProductService} single-product reads so that concurrent lookups of
+ * the same id or name share one transaction and query. Names are coalesced by their normalized
+ * form, the same form the lookup itself matches on. Misses are shared too: every waiter
+ * receives the same {@code NotFound}.
+ * <p>
+ * A principal pinned to the primary by {@link ReadYourWritesTracker} reads on its own. Joining a
+ * load started by another principal could route it to a replica that lacks its own writes.
+ */
+@Component
+public class CoalescingProductReader implements MeterBinder {
+
+    private final ProductService productService;
+    private final ReadYourWritesTracker readYourWrites;
+    private final SingleFlight<Long, Product> byId;
+    private final SingleFlight<String, Product> byName;
+
+    public CoalescingProductReader(
+            final ProductService productService,
+            final ReadYourWritesTracker readYourWrites,
+            final SingleFlightProperties properties
+    ) {
+        this.productService = productService;
+        this.readYourWrites = readYourWrites;
+        this.byId = new SingleFlight<>(properties.maxWait());
+        this.byName = new SingleFlight<>(properties.maxWait());
+    }
+
+    public Product getProductById(final Long id) {
+        if (readYourWrites.isPinnedToPrimary()) {
+            return productService.getProductById(id);
+        }
+        return byId.load(id, () -> productService.getProductById(id));
+    }
+
+    public Product getProductByName(final String name) {
+        if (readYourWrites.isPinnedToPrimary()) {
+            return productService.getProductByName(name);
+        }
+        return byName.load(Product.normalizeName(name), () -> productService.getProductByName(name));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        bind(registry, "id", byId);
+        bind(registry, "name", byName);
+    }
+
+    private static void bind(final MeterRegistry registry, final String key, final SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("store.single.flight.loads", flight, SingleFlight::loads)
+                .tag("key", key)
+                .register(registry);
+        FunctionCounter.builder("store.single.flight.coalesced", flight, SingleFlight::coalesced)
+                .tag("key", key)
+                .register(registry);
+        FunctionCounter.builder("store.single.flight.timeouts", flight, SingleFlight::timeouts)
+                .tag("key", key)
+                .register(registry);
+    }
+}
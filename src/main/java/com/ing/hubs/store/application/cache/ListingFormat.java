@@ -0,0 +1,74 @@
+package com.ing.hubs.store.application.cache;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Wire formats the product listing can be served in. JSON stays the default; the binary
+ * formats are only chosen when the client asks for them explicitly. A client that accepts none
+ * of them gets 406, as from every other endpoint.
+ */
+public enum ListingFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR),
+    SMILE(new MediaType("application", "x-jackson-smile"));
+
+    private static final List<MediaType> SUPPORTED = Arrays.stream(values()).map(ListingFormat::mediaType).toList();
+
+    private final MediaType mediaType;
+
+    ListingFormat(final MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Picks the format of the most specific acceptable media type, ordered the way Spring's own
+     * content negotiation orders them, so a wildcard listed next to {@code application/cbor} still
+     * gets CBOR. Wildcards on their own resolve to JSON.
+     *
+     * @throws HttpMediaTypeNotAcceptableException if no acceptable media type is supported
+     */
+    public static ListingFormat negotiate(final String accept) throws HttpMediaTypeNotAcceptableException {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        final List<MediaType> acceptable;
+        try {
+            acceptable = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            MimeTypeUtils.sortBySpecificity(acceptable);
+        } catch (InvalidMediaTypeException | InvalidMimeTypeException ex) {
+            throw new HttpMediaTypeNotAcceptableException(ex.getMessage());
+        }
+        return acceptable.stream()
+                .filter(mediaType -> mediaType.getQualityValue() > 0)
+                .map(ListingFormat::of)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElseThrow(() -> new HttpMediaTypeNotAcceptableException(SUPPORTED));
+    }
+
+    private static ListingFormat of(final MediaType mediaType) {
+        if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+            return JSON;
+        }
+        if (mediaType.equalsTypeAndSubtype(CBOR.mediaType)) {
+            return CBOR;
+        }
+        if (mediaType.equalsTypeAndSubtype(SMILE.mediaType)) {
+            return SMILE;
+        }
+        return null;
+    }
+}
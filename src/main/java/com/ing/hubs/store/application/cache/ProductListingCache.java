@@ -0,0 +1,148 @@
+package com.ing.hubs.store.application.cache;
+
+import com.ing.hubs.store.application.dto.ProductResponse;
+import com.ing.hubs.store.domain.exception.InternalError;
+import com.ing.hubs.store.domain.service.CatalogVersion;
+import com.ing.hubs.store.domain.service.ProductService;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized {@code GET /products} body for the current {@link CatalogVersion},
+ * so repeated listings are served without touching the database or Jackson.
+ * JSON is encoded eagerly; binary formats are encoded on first request and kept alongside it.
+ */
+@Component
+public class ProductListingCache {
+
+    private static final int GZIP_MIN_SIZE = 1024;
+
+    private final ProductService productService;
+    private final CatalogVersion catalogVersion;
+    private final Map<ListingFormat, ObjectMapper> mappers = new EnumMap<>(ListingFormat.class);
+
+    private volatile Listing listing;
+
+    public ProductListingCache(
+            final ProductService productService,
+            final CatalogVersion catalogVersion,
+            final JsonMapper jsonMapper,
+            final CBORMapper cborMapper,
+            final SmileMapper smileMapper
+    ) {
+        this.productService = productService;
+        this.catalogVersion = catalogVersion;
+        mappers.put(ListingFormat.JSON, jsonMapper);
+        mappers.put(ListingFormat.CBOR, cborMapper);
+        mappers.put(ListingFormat.SMILE, smileMapper);
+    }
+
+    public Listing get() {
+        final Listing cached = listing;
+        if (cached != null && cached.version() == catalogVersion.current()) {
+            return cached;
+        }
+        return rebuild();
+    }
+
+    public byte[] encode(final Listing listing, final ListingFormat format) {
+        if (format == ListingFormat.JSON) {
+            return listing.json();
+        }
+        return listing.encoded.computeIfAbsent(format, f -> mappers.get(f).writeValueAsBytes(listing.products));
+    }
+
+    private synchronized Listing rebuild() {
+        final long version = catalogVersion.current();
+        final Listing cached = listing;
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+        final List<ProductResponse> products = productService.getAllProductsFromPrimary()
+                .stream()
+                .map(ProductResponse::fromEntity)
+                .toList();
+        final byte[] json = mappers.get(ListingFormat.JSON).writeValueAsBytes(products);
+        final byte[] gzip = json.length >= GZIP_MIN_SIZE ? gzip(json) : null;
+        final Listing rebuilt = new Listing(version, products, json, gzip);
+        listing = rebuilt;
+        return rebuilt;
+    }
+
+    private static byte[] gzip(final byte[] content) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException ex) {
+            throw new InternalError("Failed to compress product listing");
+        }
+        return out.toByteArray();
+    }
+
+    public static final class Listing {
+
+        private final long version;
+        private final List<ProductResponse> products;
+        private final byte[] json;
+        private final byte[] gzip;
+        private final Map<ListingFormat, byte[]> encoded = new ConcurrentHashMap<>();
+
+        private Listing(final long version, final List<ProductResponse> products, final byte[] json, final byte[] gzip) {
+            this.version = version;
+            this.products = products;
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public byte[] json() {
+            return json;
+        }
+
+        public byte[] gzip() {
+            return gzip;
+        }
+
+        public boolean servesGzip(final String acceptEncoding) {
+            return gzip != null && acceptsGzip(acceptEncoding);
+        }
+
+        private static boolean acceptsGzip(final String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return false;
+            }
+            for (String coding : acceptEncoding.split(",")) {
+                String[] parts = coding.trim().split(";");
+                if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                    continue;
+                }
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim();
+                    if (param.startsWith("q=")) {
+                        try {
+                            return Double.parseDouble(param.substring(2)) > 0;
+                        } catch (NumberFormatException ex) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+}
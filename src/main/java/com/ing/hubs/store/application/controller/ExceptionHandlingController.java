@@ -5,15 +5,22 @@ import com.ing.hubs.store.domain.exception.BadRequest;
 import com.ing.hubs.store.domain.exception.Conflict;
 import com.ing.hubs.store.domain.exception.InternalError;
 import com.ing.hubs.store.domain.exception.NotFound;
+import com.ing.hubs.store.domain.exception.ServiceUnavailable;
+import com.ing.hubs.store.infra.idempotency.IdempotencyFilter;
+import com.ing.hubs.store.infra.logging.ClientErrorLogger;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.InsufficientAuthenticationException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.stream.Collectors;
 
@@ -21,8 +28,11 @@ import static org.springframework.http.HttpStatus.*;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class ExceptionHandlingController {
 
+    private final ClientErrorLogger clientErrorLogger;
+
     @ExceptionHandler(BadRequest.class)
     public ResponseEntity<ErrorResponse> handleBadRequest(BadRequest ex) {
         return respond(BAD_REQUEST, ex.getMessage(), ex);
@@ -34,7 +44,10 @@ public class ExceptionHandlingController {
     }
 
     @ExceptionHandler(Conflict.class)
-    public ResponseEntity<ErrorResponse> handleConflict(Conflict ex) {
+    public ResponseEntity<ErrorResponse> handleConflict(Conflict ex, HttpServletRequest request) {
+        if (ex.isRetryable()) {
+            request.setAttribute(IdempotencyFilter.TRANSIENT_OUTCOME, Boolean.TRUE);
+        }
         return respond(CONFLICT, ex.getMessage(), ex);
     }
 
@@ -43,6 +56,11 @@ public class ExceptionHandlingController {
         return respond(INTERNAL_SERVER_ERROR, ex.getMessage(), ex);
     }
 
+    @ExceptionHandler(ServiceUnavailable.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailable ex) {
+        return respond(SERVICE_UNAVAILABLE, ex.getMessage(), ex);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex) {
         String message = ex.getBindingResult()
@@ -56,6 +74,19 @@ public class ExceptionHandlingController {
         return respond(BAD_REQUEST, message, ex);
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        return respond(BAD_REQUEST, "Invalid value for parameter: " + ex.getName(), ex);
+    }
+
+    /**
+     * No body: the client accepts none of the types an {@link ErrorResponse} could be written as.
+     */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<Void> handleNotAcceptable(HttpMediaTypeNotAcceptableException ex) {
+        clientErrorLogger.log(NOT_ACCEPTABLE, "Not acceptable");
+        return ResponseEntity.status(NOT_ACCEPTABLE).build();
+    }
 
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException ex) {
@@ -78,8 +109,8 @@ public class ExceptionHandlingController {
     }
 
     private ResponseEntity<ErrorResponse> respond(HttpStatus status, String message, Exception ex) {
-        if (status.is4xxClientError()) {
-            log.warn("Request failed: {} - {}", status.value(), message);
+        if (status.is4xxClientError() || status == SERVICE_UNAVAILABLE) {
+            clientErrorLogger.log(status, message);
         } else {
             log.error("Request failed: {} - {}", status.value(), message, ex);
         }
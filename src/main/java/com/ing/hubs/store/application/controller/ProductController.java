@@ -1,20 +1,33 @@
 package com.ing.hubs.store.application.controller;
 
+import com.ing.hubs.store.application.cache.CoalescingProductReader;
+import com.ing.hubs.store.application.cache.ListingFormat;
+import com.ing.hubs.store.application.cache.ProductListingCache;
+import com.ing.hubs.store.application.dto.CatalogStatsResponse;
 import com.ing.hubs.store.application.dto.CreateProductRequest;
+import com.ing.hubs.store.application.dto.PriceHistoryResponse;
+import com.ing.hubs.store.application.dto.ProductLookupResponse;
 import com.ing.hubs.store.application.dto.ProductResponse;
 import com.ing.hubs.store.application.dto.UpdateProductPriceRequest;
 import com.ing.hubs.store.application.dto.UpdateProductQuantityRequest;
 import com.ing.hubs.store.domain.entity.Product;
+import com.ing.hubs.store.domain.entity.ProductField;
 import com.ing.hubs.store.domain.service.ProductService;
+import com.ing.hubs.store.domain.stats.CatalogStats;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.http.HttpStatus.CREATED;
 
@@ -24,6 +37,9 @@ import static org.springframework.http.HttpStatus.CREATED;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductListingCache productListingCache;
+    private final CoalescingProductReader productReader;
+    private final CatalogStats catalogStats;
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
@@ -35,28 +51,87 @@ public class ProductController {
 
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
     @GetMapping
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        List<ProductResponse> products = productService.getAllProducts()
-                .stream()
-                .map(ProductResponse::fromEntity)
-                .toList();
-        return ResponseEntity.ok(products);
+    public ResponseEntity<byte[]> getAllProducts(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) throws HttpMediaTypeNotAcceptableException {
+        ListingFormat format = ListingFormat.negotiate(accept);
+        ProductListingCache.Listing listing = productListingCache.get();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (format != ListingFormat.JSON) {
+            return response.body(productListingCache.encode(listing, format));
+        }
+        if (listing.servesGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(listing.gzip());
+        }
+        return response.body(listing.json());
+    }
+
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping(params = {"fields", "!ids"})
+    public ResponseEntity<List<Map<String, Object>>> getAllProducts(@RequestParam List<String> fields) {
+        return ResponseEntity.ok(productService.getAllProducts(ProductField.parse(fields)));
+    }
+
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping(params = "ids")
+    public ResponseEntity<ProductLookupResponse> getProductsByIds(@RequestParam List<Long> ids) {
+        Map<Long, Product> found = productService.getProductsByIds(ids);
+        return ResponseEntity.ok(ProductLookupResponse.fromEntities(new LinkedHashSet<>(ids), found));
+    }
+
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping("/stats")
+    public ResponseEntity<CatalogStatsResponse> getCatalogStats() {
+        return ResponseEntity.ok(CatalogStatsResponse.fromTotals(catalogStats.current(), catalogStats.lowStockThreshold()));
     }
 
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponse> getProductById(@PathVariable @NotNull Long id) {
-        Product product = productService.getProductById(id);
+        Product product = productReader.getProductById(id);
         return ResponseEntity.ok(ProductResponse.fromEntity(product));
     }
 
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getProductById(
+            @PathVariable @NotNull Long id,
+            @RequestParam List<String> fields
+    ) {
+        return ResponseEntity.ok(productService.getProductById(id, ProductField.parse(fields)));
+    }
+
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping("/{id}/price-history")
+    public ResponseEntity<PriceHistoryResponse> getPriceHistory(
+            @PathVariable @NotNull Long id,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to
+    ) {
+        Instant rangeFrom = from != null ? from : Instant.EPOCH;
+        Instant rangeTo = to != null ? to : Instant.now();
+        return ResponseEntity.ok(PriceHistoryResponse.fromPoints(id, productService.getPriceHistory(id, rangeFrom, rangeTo)));
+    }
+
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
     @GetMapping("/by-name/{name}")
     public ResponseEntity<ProductResponse> getProductByName(@PathVariable @NotBlank String name) {
-        Product product = productService.getProductByName(name);
+        Product product = productReader.getProductByName(name);
         return ResponseEntity.ok(ProductResponse.fromEntity(product));
     }
 
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping(value = "/by-name/{name}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getProductByName(
+            @PathVariable @NotBlank String name,
+            @RequestParam List<String> fields
+    ) {
+        return ResponseEntity.ok(productService.getProductByName(name, ProductField.parse(fields)));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping
     public ResponseEntity<Void> deleteAllProducts() {
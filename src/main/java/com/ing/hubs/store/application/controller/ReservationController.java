@@ -0,0 +1,55 @@
+package com.ing.hubs.store.application.controller;
+
+import com.ing.hubs.store.application.dto.CreateReservationRequest;
+import com.ing.hubs.store.application.dto.ReservationResponse;
+import com.ing.hubs.store.domain.entity.Reservation;
+import com.ing.hubs.store.domain.service.ReservationService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+import static org.springframework.http.HttpStatus.CREATED;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/reservations")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @PostMapping
+    public ResponseEntity<ReservationResponse> createReservation(
+            @Valid @RequestBody CreateReservationRequest request,
+            Principal principal
+    ) {
+        Reservation created = reservationService.reserve(principal.getName(), request.toLines());
+        return ResponseEntity.status(CREATED).body(ReservationResponse.fromEntity(created));
+    }
+
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping("/{id}")
+    public ResponseEntity<ReservationResponse> getReservation(@PathVariable @NotNull Long id, Principal principal) {
+        Reservation reservation = reservationService.getReservation(id, principal.getName());
+        return ResponseEntity.ok(ReservationResponse.fromEntity(reservation));
+    }
+
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<ReservationResponse> confirmReservation(@PathVariable @NotNull Long id, Principal principal) {
+        Reservation confirmed = reservationService.confirm(id, principal.getName());
+        return ResponseEntity.ok(ReservationResponse.fromEntity(confirmed));
+    }
+
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<ReservationResponse> cancelReservation(@PathVariable @NotNull Long id, Principal principal) {
+        Reservation cancelled = reservationService.cancel(id, principal.getName());
+        return ResponseEntity.ok(ReservationResponse.fromEntity(cancelled));
+    }
+}
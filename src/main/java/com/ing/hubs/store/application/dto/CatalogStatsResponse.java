@@ -0,0 +1,27 @@
+package com.ing.hubs.store.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ing.hubs.store.domain.stats.CatalogTotals;
+import lombok.Builder;
+
+@Builder
+public record CatalogStatsResponse(
+        @JsonProperty("sku_count") Long skuCount,
+        @JsonProperty("total_units") Long totalUnits,
+        @JsonProperty("stock_value") Double stockValue,
+        @JsonProperty("out_of_stock_count") Long outOfStockCount,
+        @JsonProperty("low_stock_count") Long lowStockCount,
+        @JsonProperty("low_stock_threshold") Integer lowStockThreshold
+) {
+
+    public static CatalogStatsResponse fromTotals(final CatalogTotals totals, final int lowStockThreshold) {
+        return CatalogStatsResponse.builder()
+                .skuCount(totals.skuCount())
+                .totalUnits(totals.totalUnits())
+                .stockValue(totals.stockValue())
+                .outOfStockCount(totals.outOfStockCount())
+                .lowStockCount(totals.lowStockCount())
+                .lowStockThreshold(lowStockThreshold)
+                .build();
+    }
+}
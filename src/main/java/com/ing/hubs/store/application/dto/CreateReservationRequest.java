@@ -0,0 +1,21 @@
+package com.ing.hubs.store.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ing.hubs.store.domain.entity.ReservationLine;
+import com.ing.hubs.store.domain.service.ReservationService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record CreateReservationRequest(
+        @JsonProperty("lines") @NotEmpty @Size(max = ReservationService.MAX_LINES) List<@Valid ReservationLineRequest> lines
+) {
+
+    public List<ReservationLine> toLines() {
+        return lines.stream()
+                .map(ReservationLineRequest::toLine)
+                .toList();
+    }
+}
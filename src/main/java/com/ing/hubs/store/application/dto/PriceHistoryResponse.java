@@ -0,0 +1,30 @@
+package com.ing.hubs.store.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ing.hubs.store.domain.history.PricePoint;
+import lombok.Builder;
+
+import java.time.Instant;
+import java.util.List;
+
+@Builder
+public record PriceHistoryResponse(
+        @JsonProperty("product_id") Long productId,
+        @JsonProperty("points") List<Point> points
+) {
+
+    public static PriceHistoryResponse fromPoints(final Long productId, final List<PricePoint> points) {
+        return PriceHistoryResponse.builder()
+                .productId(productId)
+                .points(points.stream()
+                        .map(point -> new Point(point.at(), point.price()))
+                        .toList())
+                .build();
+    }
+
+    public record Point(
+            @JsonProperty("at") Instant at,
+            @JsonProperty("price") Double price
+    ) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.ing.hubs.store.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ing.hubs.store.domain.entity.Product;
+import lombok.Builder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Builder
+public record ProductLookupResponse(
+        @JsonProperty("products") List<ProductResponse> products,
+        @JsonProperty("missing_ids") List<Long> missingIds
+) {
+
+    public static ProductLookupResponse fromEntities(final Collection<Long> requestedIds, final Map<Long, Product> found) {
+        final List<ProductResponse> products = new ArrayList<>(found.size());
+        final List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            Product product = found.get(id);
+            if (product != null) {
+                products.add(ProductResponse.fromEntity(product));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return ProductLookupResponse.builder()
+                .products(products)
+                .missingIds(missingIds)
+                .build();
+    }
+}
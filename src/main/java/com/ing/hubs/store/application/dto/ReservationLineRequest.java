@@ -0,0 +1,16 @@
+package com.ing.hubs.store.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ing.hubs.store.domain.entity.ReservationLine;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record ReservationLineRequest(
+        @JsonProperty("product_id") @NotNull Long productId,
+        @JsonProperty("quantity") @NotNull @Min(1) Integer quantity
+) {
+
+    public ReservationLine toLine() {
+        return new ReservationLine(productId, quantity);
+    }
+}
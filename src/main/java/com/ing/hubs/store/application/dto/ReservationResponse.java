@@ -0,0 +1,36 @@
+package com.ing.hubs.store.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ing.hubs.store.domain.entity.Reservation;
+import com.ing.hubs.store.domain.entity.ReservationStatus;
+import lombok.Builder;
+
+import java.time.Instant;
+import java.util.List;
+
+@Builder
+public record ReservationResponse(
+        @JsonProperty("id") Long id,
+        @JsonProperty("status") ReservationStatus status,
+        @JsonProperty("expires_at") Instant expiresAt,
+        @JsonProperty("lines") List<Line> lines
+) {
+
+    public static ReservationResponse fromEntity(final Reservation reservation) {
+        return ReservationResponse.builder()
+                .id(reservation.getId())
+                .status(reservation.getStatus())
+                .expiresAt(reservation.getExpiresAt())
+                .lines(reservation.getLines()
+                        .stream()
+                        .map(line -> new Line(line.productId(), line.quantity()))
+                        .toList())
+                .build();
+    }
+
+    public record Line(
+            @JsonProperty("product_id") Long productId,
+            @JsonProperty("quantity") Integer quantity
+    ) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.ing.hubs.store.domain.entity;
+
+import com.ing.hubs.store.domain.history.PriceBlock;
+import jakarta.persistence.*;
+import lombok.*;
+
+import static lombok.AccessLevel.PRIVATE;
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * One stored {@link PriceBlock} of a product's price history. Blocks are numbered from zero per
+ * product; only the last one is still appended to.
+ */
+@With
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor(access = PROTECTED)
+@AllArgsConstructor(access = PRIVATE)
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_price_history_block",
+        columnNames = {"product_id", "block_index"}
+))
+public class PriceHistoryBlock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false, updatable = false)
+    private Long productId;
+
+    @Column(name = "block_index", nullable = false, updatable = false)
+    private Integer blockIndex;
+
+    @Column(nullable = false)
+    private Long firstMillis;
+
+    @Column(nullable = false)
+    private Long firstBits;
+
+    @Column(nullable = false)
+    private Long lastMillis;
+
+    @Column(nullable = false)
+    private Long lastBits;
+
+    @Column(nullable = false)
+    private Integer pointCount;
+
+    @Column(nullable = false, length = PriceBlock.MAX_DATA_BYTES)
+    private byte[] data;
+
+    public static PriceHistoryBlock of(final Long productId, final int blockIndex, final PriceBlock block) {
+        return PriceHistoryBlock.builder()
+                .productId(productId)
+                .blockIndex(blockIndex)
+                .build()
+                .withBlock(block);
+    }
+
+    public PriceHistoryBlock withBlock(final PriceBlock block) {
+        return withFirstMillis(block.firstMillis())
+                .withFirstBits(block.firstBits())
+                .withLastMillis(block.lastMillis())
+                .withLastBits(block.lastBits())
+                .withPointCount(block.count())
+                .withData(block.data());
+    }
+
+    public PriceBlock toBlock() {
+        return PriceBlock.restore(firstMillis, firstBits, lastMillis, lastBits, pointCount, data);
+    }
+}
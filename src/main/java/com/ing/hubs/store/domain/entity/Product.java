@@ -6,8 +6,11 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
+import java.text.Normalizer;
 import java.time.Instant;
+import java.util.Locale;
 
+import static lombok.AccessLevel.NONE;
 import static lombok.AccessLevel.PRIVATE;
 import static lombok.AccessLevel.PROTECTED;
 
@@ -17,6 +20,7 @@ import static lombok.AccessLevel.PROTECTED;
 @Builder
 @NoArgsConstructor(access = PROTECTED)
 @AllArgsConstructor(access = PRIVATE)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_product_normalized_name", columnNames = "normalized_name"))
 public class Product {
 
     @Id
@@ -27,6 +31,14 @@ public class Product {
     @Column(nullable = false, length = 200)
     private String name;
 
+    /**
+     * The name as looked up: see {@link #normalizeName}. Derived from {@link #name} on every write,
+     * and unique, so names that differ only in case or spacing cannot coexist.
+     */
+    @With(NONE)
+    @Column(nullable = false, length = 1000)
+    private String normalizedName;
+
     @Column(length = 500)
     private String description;
 
@@ -46,8 +58,20 @@ public class Product {
     @Column(nullable = false)
     private Instant lastUpdatedAt;
 
+    @Version
+    private Long version;
+
+    /**
+     * NFKC-normalizes, trims and lower-cases a name, so full-width, ligature and case variants of
+     * the same name compare equal.
+     */
+    public static String normalizeName(final String name) {
+        return Normalizer.normalize(name, Normalizer.Form.NFKC).strip().toLowerCase(Locale.ROOT);
+    }
+
     @PrePersist
     void onCreate() {
+        normalizedName = normalizeName(name);
         Instant now = Instant.now();
         createdAt = now;
         lastUpdatedAt = now;
@@ -55,6 +79,7 @@ public class Product {
 
     @PreUpdate
     void onUpdate() {
+        normalizedName = normalizeName(name);
         lastUpdatedAt = Instant.now();
     }
 }
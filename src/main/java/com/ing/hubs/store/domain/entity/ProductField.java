@@ -0,0 +1,42 @@
+package com.ing.hubs.store.domain.entity;
+
+import com.ing.hubs.store.domain.exception.BadRequest;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Product attributes that can be selected individually through a sparse fieldset.
+ * The lower-case constant name is both the entity attribute and the response field name.
+ */
+public enum ProductField {
+    ID,
+    NAME,
+    DESCRIPTION,
+    PRICE,
+    QUANTITY;
+
+    public String attribute() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Set<ProductField> parse(final Collection<String> names) {
+        final Set<ProductField> fields = EnumSet.noneOf(ProductField.class);
+        for (String name : names) {
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            try {
+                fields.add(valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException ex) {
+                throw BadRequest.stackless("Unknown product field: " + name.trim());
+            }
+        }
+        if (fields.isEmpty()) {
+            throw BadRequest.stackless("At least one product field must be requested");
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ing.hubs.store.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * A hold on stock for several products. The stock is taken when the reservation is created
+ * and given back when it is cancelled or expires; confirming keeps it taken.
+ */
+@With
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor(access = PROTECTED)
+@AllArgsConstructor(access = PRIVATE)
+@Table(indexes = @Index(name = "idx_reservation_status_expires_at", columnList = "status, expiresAt"))
+public class Reservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String owner;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReservationStatus status;
+
+    @Builder.Default
+    @ElementCollection
+    @CollectionTable(name = "reservation_line", joinColumns = @JoinColumn(name = "reservation_id"))
+    @OrderBy("productId")
+    private List<ReservationLine> lines = new ArrayList<>();
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant lastUpdatedAt;
+
+    public boolean isExpiredAt(final Instant now) {
+        return status == ReservationStatus.PENDING && !expiresAt.isAfter(now);
+    }
+
+    @PrePersist
+    void onCreate() {
+        Instant now = Instant.now();
+        createdAt = now;
+        lastUpdatedAt = now;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        lastUpdatedAt = Instant.now();
+    }
+}
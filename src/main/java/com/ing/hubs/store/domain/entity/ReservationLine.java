@@ -0,0 +1,11 @@
+package com.ing.hubs.store.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public record ReservationLine(
+        @Column(nullable = false) Long productId,
+        @Column(nullable = false) Integer quantity
+) {
+}
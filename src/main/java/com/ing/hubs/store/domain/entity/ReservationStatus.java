@@ -0,0 +1,8 @@
+package com.ing.hubs.store.domain.entity;
+
+public enum ReservationStatus {
+    PENDING,
+    CONFIRMED,
+    CANCELLED,
+    EXPIRED
+}
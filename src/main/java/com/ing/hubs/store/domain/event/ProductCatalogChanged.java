@@ -0,0 +1,16 @@
+package com.ing.hubs.store.domain.event;
+
+/**
+ * Published by {@code ProductService} whenever a mutation touches the catalog.
+ * A {@code null} product id means the change was not limited to a single product.
+ */
+public record ProductCatalogChanged(Long productId) {
+
+    public static ProductCatalogChanged ofProduct(final Long productId) {
+        return new ProductCatalogChanged(productId);
+    }
+
+    public static ProductCatalogChanged ofCatalog() {
+        return new ProductCatalogChanged(null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.ing.hubs.store.domain.event;
+
+import java.time.Instant;
+
+/**
+ * Published by {@code ProductService} when a product is created or its price is updated.
+ */
+public record ProductPriceChanged(Long productId, double price, Instant changedAt) {
+}
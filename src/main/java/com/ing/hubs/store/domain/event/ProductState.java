@@ -0,0 +1,13 @@
+package com.ing.hubs.store.domain.event;
+
+import com.ing.hubs.store.domain.entity.Product;
+
+/**
+ * The stock-relevant part of a product at one point in time.
+ */
+public record ProductState(double price, int quantity) {
+
+    public static ProductState of(final Product product) {
+        return new ProductState(product.getPrice(), product.getQuantity());
+    }
+}
@@ -0,0 +1,22 @@
+package com.ing.hubs.store.domain.event;
+
+import com.ing.hubs.store.domain.entity.Product;
+
+/**
+ * Carries the state of a product before and after a committed change.
+ * {@code before} is {@code null} for a created product and {@code after} is {@code null} for a deleted one.
+ */
+public record ProductStateChanged(Long productId, ProductState before, ProductState after) {
+
+    public static ProductStateChanged created(final Product product) {
+        return new ProductStateChanged(product.getId(), null, ProductState.of(product));
+    }
+
+    public static ProductStateChanged updated(final ProductState before, final Product after) {
+        return new ProductStateChanged(after.getId(), before, ProductState.of(after));
+    }
+
+    public static ProductStateChanged deleted(final Product product) {
+        return new ProductStateChanged(product.getId(), ProductState.of(product), null);
+    }
+}
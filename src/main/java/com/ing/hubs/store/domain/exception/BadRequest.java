@@ -1,7 +1,15 @@
 package com.ing.hubs.store.domain.exception;
 
-public class BadRequest extends RuntimeException {
+public class BadRequest extends DomainException {
     public BadRequest(String message) {
         super(message);
     }
+
+    private BadRequest(String message, boolean writableStackTrace) {
+        super(message, writableStackTrace);
+    }
+
+    public static BadRequest stackless(String message) {
+        return new BadRequest(message, false);
+    }
 }
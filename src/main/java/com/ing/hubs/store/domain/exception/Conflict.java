@@ -1,7 +1,31 @@
 package com.ing.hubs.store.domain.exception;
 
-public class Conflict extends RuntimeException {
+public class Conflict extends DomainException {
+
+    private final boolean retryable;
+
     public Conflict(String message) {
         super(message);
+        this.retryable = false;
+    }
+
+    private Conflict(String message, boolean writableStackTrace, boolean retryable) {
+        super(message, writableStackTrace);
+        this.retryable = retryable;
+    }
+
+    public static Conflict stackless(String message) {
+        return new Conflict(message, false, false);
+    }
+
+    /**
+     * A conflict that the same request can resolve by running again, such as a lost optimistic-lock race.
+     */
+    public static Conflict retryable(String message) {
+        return new Conflict(message, false, true);
+    }
+
+    public boolean isRetryable() {
+        return retryable;
     }
 }
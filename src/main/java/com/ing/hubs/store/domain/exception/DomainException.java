@@ -0,0 +1,17 @@
+package com.ing.hubs.store.domain.exception;
+
+/**
+ * Base of the expected failures that are mapped to client responses. Subclasses offer a
+ * {@code stackless(message)} factory for failures on hot paths, where capturing a stack trace
+ * would cost more than the failure is worth.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message);
+    }
+
+    protected DomainException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+}
@@ -1,7 +1,15 @@
 package com.ing.hubs.store.domain.exception;
 
-public class NotFound extends RuntimeException {
+public class NotFound extends DomainException {
     public NotFound(String message) {
         super(message);
     }
+
+    private NotFound(String message, boolean writableStackTrace) {
+        super(message, writableStackTrace);
+    }
+
+    public static NotFound stackless(String message) {
+        return new NotFound(message, false);
+    }
 }
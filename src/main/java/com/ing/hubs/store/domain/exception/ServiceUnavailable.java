@@ -0,0 +1,15 @@
+package com.ing.hubs.store.domain.exception;
+
+public class ServiceUnavailable extends DomainException {
+    public ServiceUnavailable(String message) {
+        super(message);
+    }
+
+    private ServiceUnavailable(String message, boolean writableStackTrace) {
+        super(message, writableStackTrace);
+    }
+
+    public static ServiceUnavailable stackless(String message) {
+        return new ServiceUnavailable(message, false);
+    }
+}
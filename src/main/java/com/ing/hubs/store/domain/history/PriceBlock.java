@@ -0,0 +1,178 @@
+package com.ing.hubs.store.domain.history;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Up to {@value #CAPACITY} consecutive price points of one product. After the first point,
+ * timestamps are varint-encoded millisecond deltas and prices are the XOR of their IEEE-754 bits
+ * with the previous price, keeping only the non-zero bytes. Unchanged prices cost one byte, and a
+ * typical repricing costs a few.
+ * <p>
+ * Timestamps that go backwards are clamped to the previous one, so a block is always sorted.
+ */
+public final class PriceBlock {
+
+    public static final int CAPACITY = 128;
+    /** The largest encoding of one point: a ten-byte varint, a control byte and eight XOR bytes. */
+    public static final int MAX_DATA_BYTES = (CAPACITY - 1) * 19;
+
+    private final long firstMillis;
+    private final long firstBits;
+    private long lastMillis;
+    private long lastBits;
+    private int count;
+    private byte[] data;
+    private int length;
+
+    public PriceBlock(final long millis, final double price) {
+        this(millis, Double.doubleToRawLongBits(price), millis, Double.doubleToRawLongBits(price), 1, new byte[64], 0);
+    }
+
+    private PriceBlock(
+            final long firstMillis,
+            final long firstBits,
+            final long lastMillis,
+            final long lastBits,
+            final int count,
+            final byte[] data,
+            final int length
+    ) {
+        this.firstMillis = firstMillis;
+        this.firstBits = firstBits;
+        this.lastMillis = lastMillis;
+        this.lastBits = lastBits;
+        this.count = count;
+        this.data = data;
+        this.length = length;
+    }
+
+    /**
+     * Rebuilds a block from the values of a stored one.
+     */
+    public static PriceBlock restore(
+            final long firstMillis,
+            final long firstBits,
+            final long lastMillis,
+            final long lastBits,
+            final int count,
+            final byte[] data
+    ) {
+        return new PriceBlock(firstMillis, firstBits, lastMillis, lastBits, count, data.clone(), data.length);
+    }
+
+    public boolean isFull() {
+        return count == CAPACITY;
+    }
+
+    /**
+     * Starts the block that follows this full one, with the same clamping as {@link #append}.
+     */
+    public PriceBlock next(final Instant at, final double price) {
+        return new PriceBlock(Math.max(at.toEpochMilli(), lastMillis), price);
+    }
+
+    public void append(final Instant at, final double price) {
+        final long millis = Math.max(at.toEpochMilli(), lastMillis);
+        final long bits = Double.doubleToRawLongBits(price);
+        writeVarint(millis - lastMillis);
+        writeXor(bits ^ lastBits);
+        lastMillis = millis;
+        lastBits = bits;
+        count++;
+    }
+
+    /**
+     * Adds the points with {@code fromMillis <= at <= toMillis} to {@code into}, oldest first.
+     */
+    public void decode(final long fromMillis, final long toMillis, final List<PricePoint> into) {
+        long millis = firstMillis;
+        long bits = firstBits;
+        int position = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                long delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    delta |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                millis += delta;
+
+                final int control = data[position++] & 0xFF;
+                final int leadingZeroBytes = control >>> 4;
+                final int meaningfulBytes = control & 0x0F;
+                long xor = 0;
+                for (int j = 0; j < meaningfulBytes; j++) {
+                    xor = (xor << 8) | (data[position++] & 0xFF);
+                }
+                bits ^= xor << (8 * (8 - leadingZeroBytes - meaningfulBytes));
+            }
+            if (millis > toMillis) {
+                return;
+            }
+            if (millis >= fromMillis) {
+                into.add(new PricePoint(Instant.ofEpochMilli(millis), Double.longBitsToDouble(bits)));
+            }
+        }
+    }
+
+    public long firstMillis() {
+        return firstMillis;
+    }
+
+    public long firstBits() {
+        return firstBits;
+    }
+
+    public long lastMillis() {
+        return lastMillis;
+    }
+
+    public long lastBits() {
+        return lastBits;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * @return a copy of the encoded points after the first
+     */
+    public byte[] data() {
+        return Arrays.copyOf(data, length);
+    }
+
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            write((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        write((byte) value);
+    }
+
+    private void writeXor(final long xor) {
+        if (xor == 0) {
+            write((byte) 0);
+            return;
+        }
+        final int leadingZeroBytes = Long.numberOfLeadingZeros(xor) / 8;
+        final int trailingZeroBytes = Long.numberOfTrailingZeros(xor) / 8;
+        final int meaningfulBytes = 8 - leadingZeroBytes - trailingZeroBytes;
+        write((byte) ((leadingZeroBytes << 4) | meaningfulBytes));
+        for (int j = meaningfulBytes - 1; j >= 0; j--) {
+            write((byte) (xor >>> (8 * (trailingZeroBytes + j))));
+        }
+    }
+
+    private void write(final byte b) {
+        if (length == data.length) {
+            data = Arrays.copyOf(data, Math.max(64, length * 2));
+        }
+        data[length++] = b;
+    }
+}
@@ -0,0 +1,102 @@
+package com.ing.hubs.store.domain.history;
+
+import com.ing.hubs.store.domain.entity.PriceHistoryBlock;
+import com.ing.hubs.store.domain.event.ProductPriceChanged;
+import com.ing.hubs.store.domain.repository.PriceHistoryBlockRepository;
+import com.ing.hubs.store.domain.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Price history of every product, stored as {@link PriceBlock}s with one row per block. A price change
+ * is appended just before its transaction commits, so the history commits or rolls back with the
+ * price. The product row is already written by then, and its lock serializes appends to the
+ * product's last block. History is deleted together with its product.
+ */
+@Component
+@RequiredArgsConstructor
+public class PriceHistory implements MeterBinder {
+
+    private final PriceHistoryBlockRepository blocks;
+    private final ProductRepository products;
+
+    private Counter appended;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    void onPriceChanged(final ProductPriceChanged event) {
+        append(event.productId(), event.changedAt(), event.price());
+    }
+
+    /**
+     * Appends a price point to the history of a product, if the product exists. Price changes are
+     * appended by the listener instead, as their transaction has just written the product.
+     */
+    @Transactional
+    public void record(final Long productId, final Instant at, final double price) {
+        if (products.existsById(productId)) {
+            append(productId, at, price);
+        }
+    }
+
+    /**
+     * @return the recorded points in {@code [from, to]}, oldest first
+     */
+    public List<PricePoint> range(final Long productId, final Instant from, final Instant to) {
+        final List<PriceBlock> overlapping = blocks.findOverlapping(productId, from.toEpochMilli(), to.toEpochMilli())
+                .stream()
+                .map(PriceHistoryBlock::toBlock)
+                .toList();
+        return PriceSeries.of(overlapping).range(from, to);
+    }
+
+    /**
+     * Deletes the history of a product, as part of the transaction that deletes the product.
+     */
+    public void forget(final Long productId) {
+        blocks.deleteByProductId(productId);
+    }
+
+    public void forgetAll() {
+        blocks.deleteAllInBatch();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        appended = Counter.builder("store.price.history.appends")
+                .description("Price points appended to the price history")
+                .register(registry);
+    }
+
+    /**
+     * Appends to the product's last block, which is locked until commit, or starts the next block
+     * once it is full.
+     */
+    private void append(final Long productId, final Instant at, final double price) {
+        final Optional<PriceHistoryBlock> stored = blocks.findFirstByProductIdOrderByBlockIndexDesc(productId);
+        if (stored.isEmpty()) {
+            blocks.save(PriceHistoryBlock.of(productId, 0, new PriceBlock(at.toEpochMilli(), price)));
+        } else {
+            final PriceHistoryBlock last = stored.get();
+            final PriceBlock block = last.toBlock();
+            if (block.isFull()) {
+                blocks.save(PriceHistoryBlock.of(productId, last.getBlockIndex() + 1, block.next(at, price)));
+            } else {
+                block.append(at, price);
+                blocks.save(last.withBlock(block));
+            }
+        }
+        if (appended != null) {
+            appended.increment();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.ing.hubs.store.domain.history;
+
+import java.time.Instant;
+
+public record PricePoint(Instant at, double price) {
+}
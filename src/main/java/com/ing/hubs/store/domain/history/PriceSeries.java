@@ -0,0 +1,56 @@
+package com.ing.hubs.store.domain.history;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Price history of one product as a sequence of {@link PriceBlock}s, oldest first. Range queries
+ * binary-search the blocks and decode only the ones that overlap the range.
+ */
+public final class PriceSeries {
+
+    private final List<PriceBlock> blocks;
+
+    private PriceSeries(final List<PriceBlock> blocks) {
+        this.blocks = blocks;
+    }
+
+    /**
+     * @param blocks consecutive blocks of one product, oldest first
+     */
+    public static PriceSeries of(final List<PriceBlock> blocks) {
+        return new PriceSeries(List.copyOf(blocks));
+    }
+
+    /**
+     * @return the points with {@code from <= at <= to}, oldest first
+     */
+    public List<PricePoint> range(final Instant from, final Instant to) {
+        final long fromMillis = from.toEpochMilli();
+        final long toMillis = to.toEpochMilli();
+        final List<PricePoint> points = new ArrayList<>();
+        for (int i = firstBlockEndingAtOrAfter(fromMillis); i < blocks.size(); i++) {
+            final PriceBlock block = blocks.get(i);
+            if (block.firstMillis() > toMillis) {
+                break;
+            }
+            block.decode(fromMillis, toMillis, points);
+        }
+        return points;
+    }
+
+    private int firstBlockEndingAtOrAfter(final long millis) {
+        int low = 0;
+        int high = blocks.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (blocks.get(mid).lastMillis() < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
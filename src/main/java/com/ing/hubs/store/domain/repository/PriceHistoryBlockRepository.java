@@ -0,0 +1,32 @@
+package com.ing.hubs.store.domain.repository;
+
+import com.ing.hubs.store.domain.entity.PriceHistoryBlock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface PriceHistoryBlockRepository extends JpaRepository<PriceHistoryBlock, Long> {
+
+    /**
+     * Locks the block still being appended to, so appends to one product's history are serialized
+     * across instances.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<PriceHistoryBlock> findFirstByProductIdOrderByBlockIndexDesc(Long productId);
+
+    @Query("""
+            select b from PriceHistoryBlock b
+            where b.productId = :productId and b.lastMillis >= :fromMillis and b.firstMillis <= :toMillis
+            order by b.blockIndex
+            """)
+    List<PriceHistoryBlock> findOverlapping(Long productId, long fromMillis, long toMillis);
+
+    @Modifying
+    @Query("delete from PriceHistoryBlock b where b.productId = :productId")
+    int deleteByProductId(Long productId);
+}
@@ -0,0 +1,21 @@
+package com.ing.hubs.store.domain.repository;
+
+import com.ing.hubs.store.domain.entity.ProductField;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Dynamic projections that select only the requested columns. Each row maps attribute
+ * names to values in {@link ProductField} order.
+ */
+public interface ProductProjectionRepository {
+
+    List<Map<String, Object>> findAllProjected(Set<ProductField> fields);
+
+    Optional<Map<String, Object>> findProjectedById(Long id, Set<ProductField> fields);
+
+    Optional<Map<String, Object>> findProjectedByName(String name, Set<ProductField> fields);
+}
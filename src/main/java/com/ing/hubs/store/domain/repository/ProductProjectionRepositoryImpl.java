@@ -0,0 +1,80 @@
+package com.ing.hubs.store.domain.repository;
+
+import com.ing.hubs.store.domain.entity.Product;
+import com.ing.hubs.store.domain.entity.ProductField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@RequiredArgsConstructor
+class ProductProjectionRepositoryImpl implements ProductProjectionRepository {
+
+    private static final String NORMALIZED_NAME = "normalizedName";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllProjected(final Set<ProductField> fields) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = select(cb, fields);
+        final Root<?> root = query.getRoots().iterator().next();
+        query.orderBy(cb.asc(root.get(ProductField.ID.attribute())));
+        return entityManager.createQuery(query)
+                .getResultStream()
+                .map(tuple -> toMap(tuple, fields))
+                .toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findProjectedById(final Long id, final Set<ProductField> fields) {
+        return findOneBy(ProductField.ID.attribute(), id, fields);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findProjectedByName(final String name, final Set<ProductField> fields) {
+        return findOneBy(NORMALIZED_NAME, Product.normalizeName(name), fields);
+    }
+
+    private Optional<Map<String, Object>> findOneBy(
+            final String attribute,
+            final Object value,
+            final Set<ProductField> fields
+    ) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = select(cb, fields);
+        final Root<?> root = query.getRoots().iterator().next();
+        query.where(cb.equal(root.get(attribute), value));
+        return entityManager.createQuery(query)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst()
+                .map(tuple -> toMap(tuple, fields));
+    }
+
+    private static CriteriaQuery<Tuple> select(final CriteriaBuilder cb, final Set<ProductField> fields) {
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<Product> root = query.from(Product.class);
+        final List<Selection<?>> selections = fields.stream()
+                .<Selection<?>>map(field -> root.get(field.attribute()).alias(field.attribute()))
+                .toList();
+        return query.select(cb.tuple(selections.toArray(Selection[]::new)));
+    }
+
+    private static Map<String, Object> toMap(final Tuple tuple, final Set<ProductField> fields) {
+        final Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+        for (ProductField field : fields) {
+            row.put(field.attribute(), tuple.get(field.attribute()));
+        }
+        return row;
+    }
+}
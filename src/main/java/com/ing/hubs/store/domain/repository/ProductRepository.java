@@ -1,15 +1,92 @@
 package com.ing.hubs.store.domain.repository;
 
 import com.ing.hubs.store.domain.entity.Product;
+import com.ing.hubs.store.domain.event.ProductState;
+import com.ing.hubs.store.domain.stats.CatalogTotals;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductProjectionRepository {
 
-    Optional<Product> findByName(String name);
+    /**
+     * Looks a product up by name regardless of case, spacing and Unicode form, through the unique
+     * index on {@code normalizedName}.
+     */
+    default Optional<Product> findByName(final String name) {
+        return findByNormalizedName(Product.normalizeName(name));
+    }
 
-    boolean existsByName(String name);
+    default boolean existsByName(final String name) {
+        return existsByNormalizedName(Product.normalizeName(name));
+    }
 
-    void deleteByName(String name);
-}
\ No newline at end of file
+    default void deleteByName(final String name) {
+        deleteByNormalizedName(Product.normalizeName(name));
+    }
+
+    Optional<Product> findByNormalizedName(String normalizedName);
+
+    boolean existsByNormalizedName(String normalizedName);
+
+    void deleteByNormalizedName(String normalizedName);
+
+    /**
+     * Takes stock only if enough is left, in a single conditional statement. Like every write to a
+     * product it bumps the version, so a concurrent read-modify-write of the same row fails instead
+     * of overwriting the new quantity.
+     *
+     * @return {@code 1} if the stock was taken, {@code 0} if the product is missing or short
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Product p set p.quantity = p.quantity - :quantity, p.lastUpdatedAt = :now,
+                p.version = p.version + 1
+            where p.id = :id and p.quantity >= :quantity
+            """)
+    int takeStock(Long id, int quantity, Instant now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Product p set p.quantity = p.quantity + :quantity, p.lastUpdatedAt = :now,
+                p.version = p.version + 1
+            where p.id = :id
+            """)
+    int returnStock(Long id, int quantity, Instant now);
+
+    /**
+     * The whole catalog from the primary, for snapshots cached under the current catalog version.
+     * The entities are loaded read-only, so the read-write transaction does not dirty-check them.
+     */
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select p from Product p")
+    List<Product> findAllFromPrimary();
+
+    @Query("select new com.ing.hubs.store.domain.event.ProductState(p.price, p.quantity) from Product p where p.id = :id")
+    Optional<ProductState> findStateById(Long id);
+
+    /**
+     * Read-write, so it runs on the primary even outside a transaction: its result replaces the
+     * running stats, and a lagging replica would turn the correction into a regression.
+     */
+    @Transactional
+    @Query("""
+            select new com.ing.hubs.store.domain.stats.CatalogTotals(
+                count(p),
+                coalesce(sum(p.quantity), 0L),
+                coalesce(sum(p.price * p.quantity), 0.0),
+                coalesce(sum(case when p.quantity = 0 then 1L else 0L end), 0L),
+                coalesce(sum(case when p.quantity > 0 and p.quantity <= :lowStockThreshold then 1L else 0L end), 0L))
+            from Product p
+            """)
+    CatalogTotals aggregate(int lowStockThreshold);
+}
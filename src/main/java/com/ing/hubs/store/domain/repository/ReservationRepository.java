@@ -0,0 +1,34 @@
+package com.ing.hubs.store.domain.repository;
+
+import com.ing.hubs.store.domain.entity.Reservation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+    @EntityGraph(attributePaths = "lines")
+    Optional<Reservation> findWithLinesById(Long id);
+
+    /**
+     * Locks the reservation row, so confirm, cancel and expiry of the same reservation are serialized.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = "lines")
+    @Query("select r from Reservation r where r.id = :id")
+    Optional<Reservation> findForUpdateById(Long id);
+
+    @Query("""
+            select r.id from Reservation r
+            where r.status = com.ing.hubs.store.domain.entity.ReservationStatus.PENDING and r.expiresAt <= :now
+            order by r.expiresAt
+            """)
+    List<Long> findExpiredIds(Instant now, Limit limit);
+}
@@ -0,0 +1,27 @@
+package com.ing.hubs.store.domain.service;
+
+import com.ing.hubs.store.domain.event.ProductCatalogChanged;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic counter of committed catalog mutations.
+ * Readers capture the version before loading data, so anything derived from
+ * that load is stale as soon as the counter moves on.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    @TransactionalEventListener
+    void onCatalogChanged(final ProductCatalogChanged event) {
+        version.incrementAndGet();
+    }
+}
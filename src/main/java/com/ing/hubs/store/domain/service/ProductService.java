@@ -1,19 +1,37 @@
 package com.ing.hubs.store.domain.service;
 
 import com.ing.hubs.store.domain.entity.Product;
+import com.ing.hubs.store.domain.entity.ProductField;
+import com.ing.hubs.store.domain.event.ProductCatalogChanged;
+import com.ing.hubs.store.domain.event.ProductPriceChanged;
+import com.ing.hubs.store.domain.event.ProductState;
+import com.ing.hubs.store.domain.event.ProductStateChanged;
+import com.ing.hubs.store.domain.exception.BadRequest;
 import com.ing.hubs.store.domain.exception.Conflict;
 import com.ing.hubs.store.domain.exception.NotFound;
+import com.ing.hubs.store.domain.history.PriceHistory;
+import com.ing.hubs.store.domain.history.PricePoint;
 import com.ing.hubs.store.domain.repository.ProductRepository;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Validated
@@ -21,47 +39,139 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class ProductService {
 
+    public static final int MAX_LOOKUP_IDS = 1000;
+    static final int LOOKUP_CHUNK_SIZE = 250;
+
     private final ProductRepository repository;
+    private final ApplicationEventPublisher events;
+    private final PriceHistory priceHistory;
 
     public List<Product> getAllProducts() {
         return repository.findAll();
     }
 
+    /**
+     * Reads from the primary even when the replica is usable. For results that are cached under the
+     * current catalog version, which would otherwise pin a lagging replica's view until the next change.
+     */
+    @Transactional
+    public List<Product> getAllProductsFromPrimary() {
+        return repository.findAllFromPrimary();
+    }
+
+    /**
+     * Loads only the requested columns, so sparse listings skip the wide text columns in SQL too.
+     */
+    public List<Map<String, Object>> getAllProducts(final @NotNull Set<ProductField> fields) {
+        return repository.findAllProjected(fields);
+    }
+
+    public Map<String, Object> getProductById(final @NotNull Long id, final @NotNull Set<ProductField> fields) {
+        return repository.findProjectedById(id, fields)
+                .orElseThrow(() -> NotFound.stackless("Product not found with id: " + id));
+    }
+
+    public Map<String, Object> getProductByName(final @NotBlank String name, final @NotNull Set<ProductField> fields) {
+        return repository.findProjectedByName(name, fields)
+                .orElseThrow(() -> NotFound.stackless("Product not found with name: " + name));
+    }
+
     public Product getProductById(final @NotNull Long id) {
         return repository.findById(id)
-                .orElseThrow(() -> new NotFound("Product not found with id: " + id));
+                .orElseThrow(() -> NotFound.stackless("Product not found with id: " + id));
+    }
+
+    /**
+     * Resolves many ids with chunked {@code IN} queries.
+     *
+     * @return the products found, keyed by id in the order the ids were requested
+     */
+    public Map<Long, Product> getProductsByIds(final @NotNull List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_LOOKUP_IDS) {
+            throw BadRequest.stackless("Between 1 and " + MAX_LOOKUP_IDS + " product ids must be requested");
+        }
+        final List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.contains(null)) {
+            throw BadRequest.stackless("Product ids must not be null");
+        }
+        final Map<Long, Product> loaded = new HashMap<>(distinctIds.size() * 2);
+        for (int from = 0; from < distinctIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, distinctIds.size()));
+            repository.findAllById(chunk).forEach(product -> loaded.put(product.getId(), product));
+        }
+        final Map<Long, Product> ordered = new LinkedHashMap<>(loaded.size() * 2);
+        for (Long id : distinctIds) {
+            Product product = loaded.get(id);
+            if (product != null) {
+                ordered.put(id, product);
+            }
+        }
+        return ordered;
     }
 
     public Product getProductByName(final @NotBlank String name) {
         return repository.findByName(name)
-                .orElseThrow(() -> new NotFound("Product not found with name: " + name));
+                .orElseThrow(() -> NotFound.stackless("Product not found with name: " + name));
+    }
+
+    public List<PricePoint> getPriceHistory(
+            final @NotNull Long id,
+            final @NotNull Instant from,
+            final @NotNull Instant to
+    ) {
+        if (from.isAfter(to)) {
+            throw BadRequest.stackless("Price history range must not start after it ends");
+        }
+        if (!repository.existsById(id)) {
+            throw NotFound.stackless("Product not found with id: " + id);
+        }
+        return priceHistory.range(id, from, to);
     }
 
     @Transactional
     public void deleteAllProducts() {
         repository.deleteAll();
+        flush("Products were modified concurrently");
+        priceHistory.forgetAll();
+        events.publishEvent(ProductCatalogChanged.ofCatalog());
     }
 
     @Transactional
     public void deleteProductById(final @NotNull Long id) {
-        if (repository.existsById(id)) {
-            repository.deleteById(id);
-        }
+        repository.findById(id).ifPresent(product -> delete(product, "Product was modified concurrently: " + id));
     }
 
     @Transactional
     public void deleteProductByName(final @NotBlank String name) {
-        if (repository.existsByName(name)) {
-            repository.deleteByName(name);
-        }
+        repository.findByName(name).ifPresent(product -> delete(product, "Product was modified concurrently: " + name));
+    }
+
+    /**
+     * Deletes the product row before its price history, taking the locks in the order price changes do.
+     */
+    private void delete(final Product product, final String conflictMessage) {
+        repository.delete(product);
+        flush(conflictMessage);
+        priceHistory.forget(product.getId());
+        events.publishEvent(ProductCatalogChanged.ofProduct(product.getId()));
+        events.publishEvent(ProductStateChanged.deleted(product));
     }
 
     @Transactional
     public Product createProduct(final @NotNull @Valid Product product) {
         if (repository.existsByName(product.getName())) {
-            throw new Conflict("Product already exists with name: " + product.getName());
+            throw Conflict.stackless("Product already exists with name: " + product.getName());
+        }
+        final Product created;
+        try {
+            created = repository.save(product);
+        } catch (DataIntegrityViolationException ex) {
+            throw Conflict.stackless("Product already exists with name: " + product.getName());
         }
-        return repository.save(product);
+        events.publishEvent(ProductCatalogChanged.ofProduct(created.getId()));
+        events.publishEvent(ProductStateChanged.created(created));
+        events.publishEvent(new ProductPriceChanged(created.getId(), created.getPrice(), Instant.now()));
+        return created;
     }
 
     @Transactional
@@ -70,7 +180,13 @@ public class ProductService {
             final @NotNull @Min(0) Double newPrice
     ) {
         final Product product = getProductById(id);
-        return repository.save(product.withPrice(newPrice));
+        final ProductState before = ProductState.of(product);
+        final Product updated = repository.save(product.withPrice(newPrice));
+        flush("Product was modified concurrently: " + id);
+        events.publishEvent(ProductCatalogChanged.ofProduct(id));
+        events.publishEvent(ProductStateChanged.updated(before, updated));
+        events.publishEvent(new ProductPriceChanged(id, newPrice, Instant.now()));
+        return updated;
     }
 
     @Transactional
@@ -79,6 +195,50 @@ public class ProductService {
             final @NotNull @Min(0) Integer newQuantity
     ) {
         final Product product = getProductById(id);
-        return repository.save(product.withQuantity(newQuantity));
+        final ProductState before = ProductState.of(product);
+        final Product updated = repository.save(product.withQuantity(newQuantity));
+        flush("Product was modified concurrently: " + id);
+        events.publishEvent(ProductCatalogChanged.ofProduct(id));
+        events.publishEvent(ProductStateChanged.updated(before, updated));
+        return updated;
+    }
+
+    /**
+     * Sets the quantity of every product in {@code expected} that differs, in one transaction.
+     * Ids are processed in ascending order, like reservations, so this never deadlocks with them.
+     */
+    @Transactional
+    public ReconciliationResult reconcileQuantities(final @NotNull Map<Long, Integer> expected) {
+        final List<Long> ids = expected.keySet().stream().sorted().toList();
+        final Map<Long, Product> products = new HashMap<>(ids.size() * 2);
+        repository.findAllById(ids).forEach(product -> products.put(product.getId(), product));
+        final List<ProductStateChanged> changes = new ArrayList<>();
+        for (Long id : ids) {
+            final Product product = products.get(id);
+            final Integer quantity = expected.get(id);
+            if (product == null || quantity.equals(product.getQuantity())) {
+                continue;
+            }
+            final ProductState before = ProductState.of(product);
+            changes.add(ProductStateChanged.updated(before, repository.save(product.withQuantity(quantity))));
+        }
+        flush("Products were modified concurrently during reconciliation");
+        for (ProductStateChanged change : changes) {
+            events.publishEvent(ProductCatalogChanged.ofProduct(change.productId()));
+            events.publishEvent(change);
+        }
+        return new ReconciliationResult(products.size(), changes.size(), ids.size() - products.size());
+    }
+
+    /**
+     * Flushes inside the service, so a version or row-count mismatch surfaces as a {@link Conflict}
+     * the client can retry, rather than as a commit failure after the method has returned.
+     */
+    private void flush(final String conflictMessage) {
+        try {
+            repository.flush();
+        } catch (OptimisticLockingFailureException ex) {
+            throw Conflict.retryable(conflictMessage);
+        }
     }
 }
@@ -0,0 +1,11 @@
+package com.ing.hubs.store.domain.service;
+
+/**
+ * Outcome of reconciling one batch of products against expected quantities.
+ *
+ * @param checked   products found and compared
+ * @param corrected products whose quantity was changed
+ * @param missing   expected ids with no matching product
+ */
+public record ReconciliationResult(int checked, int corrected, int missing) {
+}
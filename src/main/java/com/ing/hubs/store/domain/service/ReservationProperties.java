@@ -0,0 +1,13 @@
+package com.ing.hubs.store.domain.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("store.reservation")
+public record ReservationProperties(
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("100") int reapBatchSize
+) {
+}
@@ -0,0 +1,178 @@
+package com.ing.hubs.store.domain.service;
+
+import com.ing.hubs.store.domain.entity.Reservation;
+import com.ing.hubs.store.domain.entity.ReservationLine;
+import com.ing.hubs.store.domain.entity.ReservationStatus;
+import com.ing.hubs.store.domain.event.ProductCatalogChanged;
+import com.ing.hubs.store.domain.event.ProductState;
+import com.ing.hubs.store.domain.event.ProductStateChanged;
+import com.ing.hubs.store.domain.exception.BadRequest;
+import com.ing.hubs.store.domain.exception.Conflict;
+import com.ing.hubs.store.domain.exception.NotFound;
+import com.ing.hubs.store.domain.repository.ProductRepository;
+import com.ing.hubs.store.domain.repository.ReservationRepository;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reserves stock for several products atomically. Stock rows are always updated in ascending
+ * product id order, and a reservation row is always locked before its stock rows, so concurrent
+ * reservations can block each other but never deadlock.
+ */
+@Service
+@Validated
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReservationService {
+
+    public static final int MAX_LINES = 100;
+
+    private final ReservationRepository reservations;
+    private final ProductRepository products;
+    private final ReservationProperties properties;
+    private final ApplicationEventPublisher events;
+
+    public Reservation getReservation(final @NotNull Long id, final @NotBlank String owner) {
+        return reservations.findWithLinesById(id)
+                .filter(reservation -> reservation.getOwner().equals(owner))
+                .orElseThrow(() -> NotFound.stackless("Reservation not found with id: " + id));
+    }
+
+    /**
+     * Takes the stock for every line or none of it; a short or missing product rolls back the lines already taken.
+     */
+    @Transactional
+    public Reservation reserve(final @NotBlank String owner, final @NotNull List<ReservationLine> lines) {
+        final List<ReservationLine> merged = canonicalLines(lines);
+        final Instant now = Instant.now();
+        for (ReservationLine line : merged) {
+            if (products.takeStock(line.productId(), line.quantity(), now) == 0) {
+                if (!products.existsById(line.productId())) {
+                    throw NotFound.stackless("Product not found with id: " + line.productId());
+                }
+                throw Conflict.stackless("Insufficient stock for product with id: " + line.productId());
+            }
+        }
+        final Reservation created = reservations.save(Reservation.builder()
+                .owner(owner)
+                .status(ReservationStatus.PENDING)
+                .lines(new ArrayList<>(merged))
+                .expiresAt(now.plus(properties.ttl()))
+                .build());
+        publishChanges(merged, -1);
+        return created;
+    }
+
+    @Transactional
+    public Reservation confirm(final @NotNull Long id, final @NotBlank String owner) {
+        final Reservation reservation = lockOwned(id, owner);
+        if (reservation.isExpiredAt(Instant.now())) {
+            throw Conflict.stackless("Reservation has expired: " + id);
+        }
+        requirePending(reservation);
+        return reservations.save(reservation.withStatus(ReservationStatus.CONFIRMED));
+    }
+
+    @Transactional
+    public Reservation cancel(final @NotNull Long id, final @NotBlank String owner) {
+        final Reservation reservation = lockOwned(id, owner);
+        requirePending(reservation);
+        return release(reservation, ReservationStatus.CANCELLED);
+    }
+
+    /**
+     * Ids of up to {@code limit} pending reservations whose TTL ended at or before {@code now}, oldest first.
+     * Read from the primary, so reservations that were just expired are not handed out again.
+     */
+    @Transactional
+    public List<Long> findExpiredIds(final @NotNull Instant now, final int limit) {
+        return reservations.findExpiredIds(now, Limit.of(limit));
+    }
+
+    /**
+     * Expires one reservation in its own transaction, taking its locks in the same order as
+     * {@link #cancel}. Expiring a batch in one transaction would lock stock rows out of order across
+     * reservations.
+     *
+     * @return {@code true} if the reservation was still pending and past its TTL
+     */
+    @Transactional
+    public boolean expire(final @NotNull Long id, final @NotNull Instant now) {
+        final Reservation reservation = reservations.findForUpdateById(id).orElse(null);
+        if (reservation == null || !reservation.isExpiredAt(now)) {
+            return false;
+        }
+        release(reservation, ReservationStatus.EXPIRED);
+        return true;
+    }
+
+    private Reservation lockOwned(final Long id, final String owner) {
+        return reservations.findForUpdateById(id)
+                .filter(reservation -> reservation.getOwner().equals(owner))
+                .orElseThrow(() -> NotFound.stackless("Reservation not found with id: " + id));
+    }
+
+    private static void requirePending(final Reservation reservation) {
+        if (reservation.getStatus() != ReservationStatus.PENDING) {
+            throw Conflict.stackless("Reservation " + reservation.getId() + " is already "
+                    + reservation.getStatus().name().toLowerCase());
+        }
+    }
+
+    private Reservation release(final Reservation reservation, final ReservationStatus status) {
+        final List<ReservationLine> lines = canonicalLines(reservation.getLines());
+        final Instant now = Instant.now();
+        for (ReservationLine line : lines) {
+            products.returnStock(line.productId(), line.quantity(), now);
+        }
+        final Reservation released = reservations.save(reservation.withStatus(status));
+        publishChanges(lines, 1);
+        return released;
+    }
+
+    /**
+     * The stock updates are bulk statements, so the resulting state is read back from the locked rows.
+     */
+    private void publishChanges(final List<ReservationLine> lines, final int sign) {
+        for (ReservationLine line : lines) {
+            events.publishEvent(ProductCatalogChanged.ofProduct(line.productId()));
+            products.findStateById(line.productId()).ifPresent(after -> events.publishEvent(new ProductStateChanged(
+                    line.productId(),
+                    new ProductState(after.price(), after.quantity() - sign * line.quantity()),
+                    after
+            )));
+        }
+    }
+
+    /**
+     * Merges lines for the same product and sorts them by product id, the order every stock update follows.
+     */
+    private static List<ReservationLine> canonicalLines(final List<ReservationLine> lines) {
+        if (lines.isEmpty() || lines.size() > MAX_LINES) {
+            throw BadRequest.stackless("Between 1 and " + MAX_LINES + " reservation lines must be given");
+        }
+        final Map<Long, Integer> quantities = new TreeMap<>();
+        for (ReservationLine line : lines) {
+            if (line == null || line.productId() == null || line.quantity() == null || line.quantity() < 1) {
+                throw BadRequest.stackless("Reservation lines need a product id and a positive quantity");
+            }
+            quantities.merge(line.productId(), line.quantity(), Math::addExact);
+        }
+        return quantities.entrySet()
+                .stream()
+                .map(entry -> new ReservationLine(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,159 @@
+package com.ing.hubs.store.domain.stats;
+
+import com.ing.hubs.store.domain.event.ProductCatalogChanged;
+import com.ing.hubs.store.domain.event.ProductState;
+import com.ing.hubs.store.domain.event.ProductStateChanged;
+import com.ing.hubs.store.domain.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Catalog aggregates kept up to date from committed {@link ProductStateChanged} events, so reading
+ * them is a handful of adder sums instead of a table scan. They are loaded with one SQL aggregate at
+ * startup, and the same query runs periodically to correct any drift.
+ * <p>
+ * Applying an event takes the shared side of a read-write lock and only touches striped adders, so
+ * concurrent writers do not contend. A reset takes the exclusive side. A change that commits between
+ * the SQL aggregate and the reset can still be counted twice or missed, and the next check corrects it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogStats implements MeterBinder {
+
+    private final ProductRepository repository;
+    private final CatalogStatsProperties properties;
+
+    private final LongAdder skuCount = new LongAdder();
+    private final LongAdder totalUnits = new LongAdder();
+    private final DoubleAdder stockValue = new DoubleAdder();
+    private final LongAdder outOfStockCount = new LongAdder();
+    private final LongAdder lowStockCount = new LongAdder();
+    private final ReadWriteLock resetLock = new ReentrantReadWriteLock();
+
+    private Counter corrections;
+
+    public CatalogTotals current() {
+        return new CatalogTotals(
+                skuCount.sum(),
+                totalUnits.sum(),
+                stockValue.sum(),
+                outOfStockCount.sum(),
+                lowStockCount.sum()
+        );
+    }
+
+    public int lowStockThreshold() {
+        return properties.lowStockThreshold();
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void load() {
+        reset(repository.aggregate(properties.lowStockThreshold()));
+    }
+
+    /**
+     * Compares the running aggregates with a full SQL aggregate and adopts the latter if they differ.
+     *
+     * @return {@code true} if a correction was needed
+     */
+    @Scheduled(
+            initialDelayString = "${store.stats.consistency-check-interval:PT5M}",
+            fixedDelayString = "${store.stats.consistency-check-interval:PT5M}"
+    )
+    public boolean checkConsistency() {
+        final CatalogTotals expected = repository.aggregate(properties.lowStockThreshold());
+        final CatalogTotals actual = current();
+        if (matches(expected, actual)) {
+            return false;
+        }
+        log.warn("Catalog stats drifted, correcting: running {} vs database {}", actual, expected);
+        if (corrections != null) {
+            corrections.increment();
+        }
+        reset(expected);
+        return true;
+    }
+
+    @TransactionalEventListener
+    void onStateChanged(final ProductStateChanged event) {
+        resetLock.readLock().lock();
+        try {
+            if (event.before() != null) {
+                apply(event.before(), -1);
+            }
+            if (event.after() != null) {
+                apply(event.after(), 1);
+            }
+        } finally {
+            resetLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bulk deletes carry no per-product state, so the aggregates are reloaded instead.
+     */
+    @TransactionalEventListener
+    void onCatalogChanged(final ProductCatalogChanged event) {
+        if (event.productId() == null) {
+            load();
+        }
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        corrections = Counter.builder("store.catalog.stats.corrections")
+                .description("Consistency checks that found the running catalog stats out of date")
+                .register(registry);
+    }
+
+    private void apply(final ProductState state, final int sign) {
+        skuCount.add(sign);
+        totalUnits.add((long) sign * state.quantity());
+        stockValue.add(sign * state.price() * state.quantity());
+        if (state.quantity() == 0) {
+            outOfStockCount.add(sign);
+        } else if (state.quantity() <= properties.lowStockThreshold()) {
+            lowStockCount.add(sign);
+        }
+    }
+
+    private void reset(final CatalogTotals totals) {
+        resetLock.writeLock().lock();
+        try {
+            skuCount.reset();
+            skuCount.add(totals.skuCount());
+            totalUnits.reset();
+            totalUnits.add(totals.totalUnits());
+            stockValue.reset();
+            stockValue.add(totals.stockValue());
+            outOfStockCount.reset();
+            outOfStockCount.add(totals.outOfStockCount());
+            lowStockCount.reset();
+            lowStockCount.add(totals.lowStockCount());
+        } finally {
+            resetLock.writeLock().unlock();
+        }
+    }
+
+    private boolean matches(final CatalogTotals expected, final CatalogTotals actual) {
+        return expected.skuCount() == actual.skuCount()
+                && expected.totalUnits() == actual.totalUnits()
+                && expected.outOfStockCount() == actual.outOfStockCount()
+                && expected.lowStockCount() == actual.lowStockCount()
+                && Math.abs(expected.stockValue() - actual.stockValue()) <= properties.stockValueTolerance();
+    }
+}
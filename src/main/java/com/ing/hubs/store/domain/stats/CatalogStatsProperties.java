@@ -0,0 +1,11 @@
+package com.ing.hubs.store.domain.stats;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("store.stats")
+public record CatalogStatsProperties(
+        @DefaultValue("5") int lowStockThreshold,
+        @DefaultValue("0.01") double stockValueTolerance
+) {
+}
@@ -0,0 +1,16 @@
+package com.ing.hubs.store.domain.stats;
+
+/**
+ * Catalog-wide aggregates. Low stock counts products with at least one unit and at most the
+ * configured threshold; out-of-stock products are counted separately.
+ */
+public record CatalogTotals(
+        long skuCount,
+        long totalUnits,
+        double stockValue,
+        long outOfStockCount,
+        long lowStockCount
+) {
+
+    public static final CatalogTotals EMPTY = new CatalogTotals(0, 0, 0, 0, 0);
+}
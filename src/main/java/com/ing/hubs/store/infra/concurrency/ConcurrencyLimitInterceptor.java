@@ -0,0 +1,56 @@
+package com.ing.hubs.store.infra.concurrency;
+
+import com.ing.hubs.store.domain.exception.ServiceUnavailable;
+import com.ing.hubs.store.infra.web.EndpointClass;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admits a request into controller execution only while its {@link EndpointClass} is under
+ * the adaptive limit. Rejected requests fail fast with {@link ServiceUnavailable} instead of
+ * queueing for a database connection, and are told to retry after {@code store.concurrency-limit.retry-after}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED_AT = ConcurrencyLimitInterceptor.class.getName() + ".startedAt";
+
+    private final ConcurrencyLimiter limiter;
+    private final ConcurrencyLimitProperties properties;
+
+    @Override
+    public boolean preHandle(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final Object handler
+    ) {
+        if (!limiter.isEnabled()) {
+            return true;
+        }
+        if (!limiter.tryAcquire(EndpointClass.of(request.getMethod()))) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(properties.retryAfter().toSeconds()));
+            throw ServiceUnavailable.stackless("Server is overloaded, try again later");
+        }
+        request.setAttribute(STARTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final Object handler,
+            final Exception ex
+    ) {
+        if (!(request.getAttribute(STARTED_AT) instanceof Long startedAt)) {
+            return;
+        }
+        final boolean failed = ex != null || response.getStatus() >= 500;
+        limiter.release(EndpointClass.of(request.getMethod()), System.nanoTime() - startedAt, failed);
+    }
+}
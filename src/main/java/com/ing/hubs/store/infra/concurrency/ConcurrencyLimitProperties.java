@@ -0,0 +1,24 @@
+package com.ing.hubs.store.infra.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("store.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1s") Duration retryAfter,
+        @DefaultValue Limit read,
+        @DefaultValue Limit write
+) {
+
+    public record Limit(
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("4") int minLimit,
+            @DefaultValue("200") int maxLimit,
+            @DefaultValue("250ms") Duration latencyThreshold,
+            @DefaultValue("0.9") double backoffRatio
+    ) {
+    }
+}
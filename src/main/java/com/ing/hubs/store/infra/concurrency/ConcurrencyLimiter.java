@@ -0,0 +1,56 @@
+package com.ing.hubs.store.infra.concurrency;
+
+import com.ing.hubs.store.infra.web.EndpointClass;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Global adaptive concurrency limits for controller execution, kept separately for
+ * reads and writes so that a burst of admin writes cannot starve catalog reads.
+ */
+@Component
+public class ConcurrencyLimiter implements MeterBinder {
+
+    private final boolean enabled;
+    private final Map<EndpointClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(EndpointClass.class);
+
+    public ConcurrencyLimiter(final ConcurrencyLimitProperties properties) {
+        this.enabled = properties.enabled();
+        limits.put(EndpointClass.READ, new AdaptiveConcurrencyLimit(properties.read()));
+        limits.put(EndpointClass.WRITE, new AdaptiveConcurrencyLimit(properties.write()));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean tryAcquire(final EndpointClass endpointClass) {
+        return limits.get(endpointClass).tryAcquire();
+    }
+
+    public void release(final EndpointClass endpointClass, final long latencyNanos, final boolean failed) {
+        limits.get(endpointClass).release(latencyNanos, failed);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        limits.forEach((endpointClass, limit) -> {
+            String tag = endpointClass.name().toLowerCase();
+            Gauge.builder("store.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+                    .tag("class", tag)
+                    .register(registry);
+            Gauge.builder("store.concurrency.in.flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                    .tag("class", tag)
+                    .register(registry);
+            FunctionCounter.builder("store.concurrency.rejected", limit, AdaptiveConcurrencyLimit::rejected)
+                    .tag("class", tag)
+                    .register(registry);
+        });
+    }
+}
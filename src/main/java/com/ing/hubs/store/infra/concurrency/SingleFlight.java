@@ -0,0 +1,84 @@
+package com.ing.hubs.store.infra.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one: the first caller runs the loader,
+ * later callers wait for its outcome, whether a value or an exception. A caller that waits
+ * longer than {@code maxWait} gives up on the shared load and runs the loader itself.
+ */
+public final class SingleFlight<K, V> {
+
+    private final Duration maxWait;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public SingleFlight(final Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public V load(final K key, final Supplier<V> loader) {
+        final CompletableFuture<V> call = new CompletableFuture<>();
+        final CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return await(existing, loader);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    public long loads() {
+        return loads.sum();
+    }
+
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    private V await(final CompletableFuture<V> call, final Supplier<V> loader) {
+        try {
+            V value = call.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            coalesced.increment();
+            return value;
+        } catch (ExecutionException ex) {
+            coalesced.increment();
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            timeouts.increment();
+            return loader.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared load", ex);
+        }
+    }
+}
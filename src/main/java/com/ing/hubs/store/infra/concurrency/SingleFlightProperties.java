@@ -0,0 +1,12 @@
+package com.ing.hubs.store.infra.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("store.single-flight")
+public record SingleFlightProperties(
+        @DefaultValue("2s") Duration maxWait
+) {
+}
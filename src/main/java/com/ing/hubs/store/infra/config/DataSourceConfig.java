@@ -0,0 +1,65 @@
+package com.ing.hubs.store.infra.config;
+
+import com.ing.hubs.store.infra.datasource.ReadYourWritesTracker;
+import com.ing.hubs.store.infra.datasource.ReplicaDataSourceProperties;
+import com.ing.hubs.store.infra.datasource.ReplicaLagMonitor;
+import com.ing.hubs.store.infra.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Splits database access between a primary and a read replica pool. Connections are handed out
+ * lazily, so by the time one is really needed the transaction has marked it read-only or not;
+ * read-only connections go through {@link ReplicaRoutingDataSource}, everything else to the primary.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(final DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    HikariDataSource replicaDataSource(
+            final DataSourceProperties primary,
+            final ReplicaDataSourceProperties replica
+    ) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(replica.url() != null ? replica.url() : primary.determineUrl());
+        dataSource.setUsername(replica.username() != null ? replica.username() : primary.determineUsername());
+        dataSource.setPassword(replica.password() != null ? replica.password() : primary.determinePassword());
+        dataSource.setMaximumPoolSize(replica.maximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(
+            @Qualifier("primaryDataSource") final DataSource primary,
+            @Qualifier("replicaDataSource") final DataSource replica,
+            final ReplicaLagMonitor lagMonitor,
+            final ReadYourWritesTracker readYourWrites
+    ) {
+        ReplicaRoutingDataSource readOnly = new ReplicaRoutingDataSource(primary, replica, lagMonitor, readYourWrites);
+        readOnly.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(readOnly);
+        return dataSource;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ing.hubs.store.infra.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Spring Boot auto-configures the JSON and CBOR mappers; Smile has no auto-configuration.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    SmileMapper smileMapper() {
+        return SmileMapper.builder().build();
+    }
+}
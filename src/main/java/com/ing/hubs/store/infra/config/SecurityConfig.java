@@ -1,5 +1,16 @@
 package com.ing.hubs.store.infra.config;
 
+import com.ing.hubs.store.infra.idempotency.IdempotencyFilter;
+import com.ing.hubs.store.infra.idempotency.IdempotencyProperties;
+import com.ing.hubs.store.infra.idempotency.IdempotencyStore;
+import com.ing.hubs.store.infra.ratelimit.RateLimitFilter;
+import com.ing.hubs.store.infra.ratelimit.RateLimiter;
+import com.ing.hubs.store.infra.startup.WarmupCredentials;
+import com.ing.hubs.store.infra.timing.PhaseBoundaryFilter;
+import com.ing.hubs.store.infra.timing.ServerTimingFilter;
+import com.ing.hubs.store.infra.timing.ServerTimingProperties;
+import com.ing.hubs.store.infra.timing.TimingPhase;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,6 +26,9 @@ import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.session.DisableEncodeUrlFilter;
+import tools.jackson.databind.json.JsonMapper;
 
 @Configuration
 @EnableWebSecurity
@@ -22,23 +36,42 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     @Bean
-    SecurityFilterChain securityFilterChain(final HttpSecurity http) throws Exception {
+    SecurityFilterChain securityFilterChain(
+            final HttpSecurity http,
+            final RateLimiter rateLimiter,
+            final IdempotencyStore idempotencyStore,
+            final IdempotencyProperties idempotencyProperties,
+            final ServerTimingProperties serverTimingProperties,
+            final MeterRegistry meterRegistry,
+            final JsonMapper jsonMapper
+    ) throws Exception {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/error").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/products/**").hasAnyRole("USER", "ADMIN")
                         .requestMatchers(HttpMethod.POST, "/products/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PATCH, "/products/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/products/**").hasRole("ADMIN")
+                        .requestMatchers("/reservations/**").hasAnyRole("USER", "ADMIN")
                         .anyRequest().authenticated()
                 )
                 .httpBasic(Customizer.withDefaults())
+                .addFilterBefore(new ServerTimingFilter(serverTimingProperties, meterRegistry), DisableEncodeUrlFilter.class)
+                .addFilterBefore(PhaseBoundaryFilter.start(TimingPhase.AUTH), BasicAuthenticationFilter.class)
+                .addFilterAfter(PhaseBoundaryFilter.stop(TimingPhase.AUTH), BasicAuthenticationFilter.class)
+                .addFilterAfter(new RateLimitFilter(rateLimiter, jsonMapper), BasicAuthenticationFilter.class)
+                .addFilterAfter(
+                        new IdempotencyFilter(idempotencyStore, idempotencyProperties, jsonMapper, meterRegistry),
+                        RateLimitFilter.class
+                )
                 .build();
     }
 
     @Bean
-    UserDetailsService userDetailsService(final PasswordEncoder encoder) {
+    UserDetailsService userDetailsService(final PasswordEncoder encoder, final WarmupCredentials warmup) {
         UserDetails admin = User.withUsername("admin")
                 .password(encoder.encode("admin"))
                 .roles("ADMIN")
@@ -49,7 +82,12 @@ public class SecurityConfig {
                 .roles("USER")
                 .build();
 
-        return new InMemoryUserDetailsManager(admin, user);
+        UserDetails warmupUser = User.withUsername(warmup.username())
+                .password(encoder.encode(warmup.password()))
+                .roles("USER")
+                .build();
+
+        return new InMemoryUserDetailsManager(admin, user, warmupUser);
     }
 
     @Bean
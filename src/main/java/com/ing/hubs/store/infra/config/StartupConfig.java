@@ -0,0 +1,34 @@
+package com.ing.hubs.store.infra.config;
+
+import com.ing.hubs.store.application.controller.ExceptionHandlingController;
+import com.ing.hubs.store.application.controller.ProductController;
+import com.ing.hubs.store.domain.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import javax.sql.DataSource;
+
+/**
+ * Keeps the request path eagerly initialized when {@code spring.main.lazy-initialization} is on,
+ * so only beans off the hot path are deferred and the first request does not pay for the rest.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter hotPathEagerInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DispatcherServlet.class,
+                SecurityFilterChain.class,
+                DataSource.class,
+                EntityManagerFactory.class,
+                ProductController.class,
+                ExceptionHandlingController.class,
+                ProductService.class
+        );
+    }
+}
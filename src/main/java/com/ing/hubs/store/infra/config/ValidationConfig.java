@@ -0,0 +1,26 @@
+package com.ing.hubs.store.infra.config;
+
+import com.ing.hubs.store.infra.timing.TimedValidatorFactoryBean;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.validation.MessageInterpolatorFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+/**
+ * Replaces Spring Boot's default validator with one that reports its time to Server-Timing,
+ * configured the way Boot configures its own.
+ */
+@Configuration
+public class ValidationConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static LocalValidatorFactoryBean defaultValidator(final ApplicationContext applicationContext) {
+        LocalValidatorFactoryBean validator = new TimedValidatorFactoryBean();
+        validator.setMessageInterpolator(new MessageInterpolatorFactory(applicationContext).getObject());
+        return validator;
+    }
+}
@@ -0,0 +1,37 @@
+package com.ing.hubs.store.infra.config;
+
+import com.ing.hubs.store.infra.concurrency.ConcurrencyLimitInterceptor;
+import com.ing.hubs.store.infra.timing.SerializationTimingAdvice;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+    private final CBORMapper cborMapper;
+    private final SmileMapper smileMapper;
+    private final SerializationTimingAdvice serializationTimingAdvice;
+
+    @Override
+    public void configureMessageConverters(final HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper))
+                .withSmileConverter(new JacksonSmileHttpMessageConverter(smileMapper));
+    }
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/**")
+                .excludePathPatterns("/error", "/actuator/**");
+        registry.addInterceptor(serializationTimingAdvice);
+    }
+}
@@ -0,0 +1,54 @@
+package com.ing.hubs.store.infra.datasource;
+
+import com.ing.hubs.store.domain.event.ProductCatalogChanged;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers which principals committed a write recently, so that their reads stay on the
+ * primary until the replica has had time to catch up with their own changes.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final ConcurrentMap<String, Long> lastWriteByPrincipal = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(final ReplicaDataSourceProperties properties) {
+        this.windowNanos = properties.readYourWritesWindow().toNanos();
+    }
+
+    public boolean isPinnedToPrimary() {
+        final String principal = currentPrincipal();
+        if (principal == null) {
+            return false;
+        }
+        final Long lastWrite = lastWriteByPrincipal.get(principal);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite < windowNanos) {
+            return true;
+        }
+        lastWriteByPrincipal.remove(principal, lastWrite);
+        return false;
+    }
+
+    @TransactionalEventListener
+    void onCatalogChanged(final ProductCatalogChanged event) {
+        final String principal = currentPrincipal();
+        if (principal != null) {
+            lastWriteByPrincipal.put(principal, System.nanoTime());
+        }
+    }
+
+    private static String currentPrincipal() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
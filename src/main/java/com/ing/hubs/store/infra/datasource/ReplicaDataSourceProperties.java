@@ -0,0 +1,22 @@
+package com.ing.hubs.store.infra.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Connection settings for the read replica. When no {@code url} is configured the replica pool
+ * points at the primary database, which keeps local and embedded setups trivially in sync.
+ */
+@ConfigurationProperties("store.datasource.replica")
+public record ReplicaDataSourceProperties(
+        @DefaultValue("true") boolean enabled,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("1s") Duration maxLag,
+        @DefaultValue("5s") Duration readYourWritesWindow
+) {
+}
@@ -0,0 +1,93 @@
+package com.ing.hubs.store.infra.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Measures replication lag by writing a heartbeat timestamp on the primary and reading it
+ * back from the replica. The replica is only used while the lag stays under
+ * {@code store.datasource.replica.max-lag}; until the first successful check it is not used at all.
+ * The heartbeat table is created by {@code schema.sql} at startup.
+ */
+@Slf4j
+@Component
+public class ReplicaLagMonitor implements MeterBinder {
+
+    private static final int HEARTBEAT_ID = 1;
+
+    private final boolean enabled;
+    private final Duration maxLag;
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+
+    private volatile boolean replicaUsable;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(
+            final ReplicaDataSourceProperties properties,
+            @Qualifier("primaryDataSource") final DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") final DataSource replicaDataSource
+    ) {
+        this.enabled = properties.enabled();
+        this.maxLag = properties.maxLag();
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${store.datasource.replica.lag-check-interval:PT5S}")
+    public void checkLag() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            final Instant now = Instant.now();
+            writeHeartbeat(now);
+            final Timestamp seen = replica.queryForObject(
+                    "SELECT beat_at FROM replica_heartbeat WHERE id = ?", Timestamp.class, HEARTBEAT_ID);
+            final Duration lag = seen == null ? Duration.ofDays(1) : Duration.between(seen.toInstant(), now);
+            lagMillis = lag.toMillis();
+            updateUsable(lag.compareTo(maxLag) <= 0, "lag " + lagMillis + " ms");
+        } catch (RuntimeException ex) {
+            lagMillis = -1;
+            updateUsable(false, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("store.datasource.replica.lag", this, monitor -> monitor.lagMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("store.datasource.replica.usable", this, monitor -> monitor.replicaUsable ? 1 : 0)
+                .register(registry);
+    }
+
+    private void writeHeartbeat(final Instant now) {
+        final Timestamp beat = Timestamp.from(now);
+        if (primary.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = ?", beat, HEARTBEAT_ID) == 0) {
+            primary.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (?, ?)", HEARTBEAT_ID, beat);
+        }
+    }
+
+    private void updateUsable(final boolean usable, final String reason) {
+        if (usable != replicaUsable) {
+            log.info("Read replica {}: {}", usable ? "enabled" : "disabled", reason);
+        }
+        replicaUsable = usable;
+    }
+}
@@ -0,0 +1,41 @@
+package com.ing.hubs.store.infra.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Target for connections that are already known to be read-only. Chooses the replica unless it
+ * is lagging or unreachable, or the current principal has just written and must read its own changes.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ReplicaRoutingDataSource(
+            final DataSource primary,
+            final DataSource replica,
+            final ReplicaLagMonitor lagMonitor,
+            final ReadYourWritesTracker readYourWrites
+    ) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return lagMonitor.isReplicaUsable() && !readYourWrites.isPinnedToPrimary()
+                ? Target.REPLICA
+                : Target.PRIMARY;
+    }
+}
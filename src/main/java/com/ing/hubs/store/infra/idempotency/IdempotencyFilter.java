@@ -0,0 +1,296 @@
+package com.ing.hubs.store.infra.idempotency;
+
+import com.ing.hubs.store.application.dto.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.CONTENT_TOO_LARGE;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_CONTENT;
+
+/**
+ * Makes {@code POST} and {@code PATCH} requests carrying an {@value #HEADER} header safe to retry.
+ * The first request with a key runs normally and its response is stored. Retries with the same key
+ * and the same request get that stored response. Duplicates that arrive while the first request is
+ * still running wait for it. Keys are scoped to the authenticated principal. Reusing a key for a
+ * different request is rejected with 422. Server errors and transient outcomes (408, 425, 429, and
+ * conflicts marked with {@link #TRANSIENT_OUTCOME}) are not stored, so a retry after them runs again.
+ * Bodies are buffered to be fingerprinted, so requests over {@code store.idempotency.max-request-bytes}
+ * are rejected with 413.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    /**
+     * Request attribute set by error handling when the outcome is transient, such as a lost
+     * optimistic-lock race, so retrying with the same key runs the request again.
+     */
+    public static final String TRANSIENT_OUTCOME = IdempotencyFilter.class.getName() + ".transientOutcome";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<Integer> TRANSIENT_STATUSES = Set.of(
+            HttpStatus.REQUEST_TIMEOUT.value(),
+            HttpStatus.TOO_EARLY.value(),
+            HttpStatus.TOO_MANY_REQUESTS.value());
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final JsonMapper jsonMapper;
+    private final Counter replays;
+
+    public IdempotencyFilter(
+            final IdempotencyStore store,
+            final IdempotencyProperties properties,
+            final JsonMapper jsonMapper,
+            final MeterRegistry registry
+    ) {
+        this.store = store;
+        this.properties = properties;
+        this.jsonMapper = jsonMapper;
+        this.replays = Counter.builder("store.idempotency.replays")
+                .description("Requests answered with a stored response instead of running again")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        final String method = request.getMethod();
+        return !properties.enabled()
+                || request.getHeader(HEADER) == null
+                || !(HttpMethod.POST.matches(method) || HttpMethod.PATCH.matches(method));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final FilterChain chain
+    ) throws ServletException, IOException {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            chain.doFilter(request, response);
+            return;
+        }
+        final String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, BAD_REQUEST, HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        final byte[] body = readBody(request);
+        if (body == null) {
+            writeError(response, CONTENT_TOO_LARGE,
+                    "Requests with an " + HEADER + " must not exceed " + properties.maxRequestBytes() + " bytes");
+            return;
+        }
+        final CachedBodyRequest cachedRequest = new CachedBodyRequest(request, body);
+        final String key = authentication.getName() + '\n' + idempotencyKey;
+        final String fingerprint = fingerprint(cachedRequest);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            final IdempotencyStore.Claim claim = store.claim(key, fingerprint);
+            if (claim.owned()) {
+                runAndStore(key, claim.entry(), cachedRequest, response, chain);
+                return;
+            }
+            final IdempotencyStore.Entry existing = claim.entry();
+            if (!existing.fingerprint().equals(fingerprint)) {
+                writeError(response, UNPROCESSABLE_CONTENT, HEADER + " was already used for a different request");
+                return;
+            }
+            final StoredResponse stored;
+            try {
+                stored = existing.response().get(properties.maxWait().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                writeError(response, CONFLICT, "A request with this " + HEADER + " is still in progress");
+                return;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(ex);
+            } catch (ExecutionException ex) {
+                throw new ServletException(ex.getCause());
+            }
+            if (stored != null) {
+                replay(stored, response);
+                return;
+            }
+        }
+        chain.doFilter(cachedRequest, response);
+    }
+
+    private void runAndStore(
+            final String key,
+            final IdempotencyStore.Entry entry,
+            final CachedBodyRequest request,
+            final HttpServletResponse response,
+            final FilterChain chain
+    ) throws ServletException, IOException {
+        final ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            chain.doFilter(request, captured);
+            final byte[] body = captured.getContentAsByteArray();
+            if (isReplayable(request, captured.getStatus()) && body.length <= properties.maxResponseBytes()) {
+                stored = new StoredResponse(captured.getStatus(), captured.getContentType(), body);
+            }
+        } finally {
+            if (stored != null) {
+                store.complete(entry, stored);
+            } else {
+                store.release(key, entry);
+            }
+            captured.copyBodyToResponse();
+        }
+    }
+
+    private static boolean isReplayable(final HttpServletRequest request, final int status) {
+        return status < 500
+                && !TRANSIENT_STATUSES.contains(status)
+                && request.getAttribute(TRANSIENT_OUTCOME) == null;
+    }
+
+    /**
+     * @return the body, or {@code null} if it is longer than {@code store.idempotency.max-request-bytes}
+     */
+    private byte[] readBody(final HttpServletRequest request) throws IOException {
+        final int limit = properties.maxRequestBytes();
+        if (request.getContentLengthLong() > limit) {
+            return null;
+        }
+        final byte[] body = request.getInputStream().readNBytes(limit + 1);
+        return body.length > limit ? null : body;
+    }
+
+    private void replay(final StoredResponse stored, final HttpServletResponse response) throws IOException {
+        replays.increment();
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(final HttpServletResponse response, final HttpStatus status, final String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .message(message)
+                .httpCode(status.value())
+                .build());
+    }
+
+    private static String fingerprint(final CachedBodyRequest request) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(request.body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Holds the body read up front, so it can be fingerprinted and still be read by the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(final HttpServletRequest request, final byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            final ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(final ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(final byte[] buffer, final int offset, final int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            final String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(
+                    new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ing.hubs.store.infra.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("store.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1h") Duration ttl,
+        @DefaultValue("10000") int maxEntries,
+        @DefaultValue("16777216") long maxTotalBytes,
+        @DefaultValue("65536") int maxRequestBytes,
+        @DefaultValue("65536") int maxResponseBytes,
+        @DefaultValue("5s") Duration maxWait
+) {
+}
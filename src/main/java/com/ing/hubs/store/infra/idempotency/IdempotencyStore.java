@@ -0,0 +1,144 @@
+package com.ing.hubs.store.infra.idempotency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, TTL-evicted map from idempotency key to the response of its first request.
+ * An entry is claimed before the request runs; its future completes with the stored
+ * response, or with {@code null} when the outcome should not be replayed. Once
+ * {@code store.idempotency.max-entries} or {@code store.idempotency.max-total-bytes} of stored
+ * bodies is exceeded, the oldest completed entries are evicted first. Entries whose request is
+ * still running are never evicted, as duplicates may be waiting on them.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyStore implements MeterBinder {
+
+    private final IdempotencyProperties properties;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Claimed> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    /**
+     * Claims the key for a new request, or returns the live entry of an earlier request with the same key.
+     */
+    public Claim claim(final String key, final String fingerprint) {
+        final long now = System.nanoTime();
+        final Entry candidate = new Entry(fingerprint, new CompletableFuture<>(), now + properties.ttl().toNanos());
+        while (true) {
+            final Entry existing = entries.putIfAbsent(key, candidate);
+            if (existing == null) {
+                insertionOrder.add(new Claimed(key, candidate));
+                evictOverflow();
+                return new Claim(candidate, true);
+            }
+            if (!existing.isExpired(now) || !existing.response().isDone() || !remove(key, existing)) {
+                return new Claim(existing, false);
+            }
+        }
+    }
+
+    /**
+     * Counts the body before completing the entry, as only completed entries are ever evicted.
+     */
+    public void complete(final Entry entry, final StoredResponse response) {
+        storedBytes.addAndGet(response.body().length);
+        entry.response().complete(response);
+        evictOverflow();
+    }
+
+    /**
+     * Forgets a claim whose outcome must not be replayed, waking any waiting duplicates so they can retry.
+     */
+    public void release(final String key, final Entry entry) {
+        entries.remove(key, entry);
+        entry.response().complete(null);
+    }
+
+    @Scheduled(fixedDelayString = "${store.idempotency.eviction-interval:PT1M}")
+    public void evictExpired() {
+        final long now = System.nanoTime();
+        entries.forEach((key, entry) -> {
+            if (entry.isExpired(now) && entry.response().isDone()) {
+                remove(key, entry);
+            }
+        });
+        insertionOrder.removeIf(claimed -> entries.get(claimed.key()) != claimed.entry());
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long storedBytes() {
+        return storedBytes.get();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("store.idempotency.entries", entries, ConcurrentMap::size)
+                .description("Idempotency keys currently remembered")
+                .register(registry);
+        Gauge.builder("store.idempotency.bytes", storedBytes, AtomicLong::get)
+                .description("Bytes of stored response bodies")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void evictOverflow() {
+        final Iterator<Claimed> oldestFirst = insertionOrder.iterator();
+        while (isOverBudget() && oldestFirst.hasNext()) {
+            final Claimed claimed = oldestFirst.next();
+            if (entries.get(claimed.key()) != claimed.entry()) {
+                oldestFirst.remove();
+            } else if (claimed.entry().response().isDone()) {
+                remove(claimed.key(), claimed.entry());
+                oldestFirst.remove();
+            }
+        }
+    }
+
+    private boolean isOverBudget() {
+        return entries.size() > properties.maxEntries() || storedBytes.get() > properties.maxTotalBytes();
+    }
+
+    private boolean remove(final String key, final Entry entry) {
+        if (!entries.remove(key, entry)) {
+            return false;
+        }
+        final StoredResponse response = entry.response().getNow(null);
+        if (response != null) {
+            storedBytes.addAndGet(-response.body().length);
+        }
+        return true;
+    }
+
+    public record Entry(String fingerprint, CompletableFuture<StoredResponse> response, long expiresAtNanos) {
+
+        boolean isExpired(final long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    /**
+     * @param owned {@code true} if the caller must run the request and complete or release the entry
+     */
+    public record Claim(Entry entry, boolean owned) {
+    }
+
+    private record Claimed(String key, Entry entry) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.ing.hubs.store.infra.idempotency;
+
+/**
+ * The first response produced for an idempotency key, replayed verbatim for every retry.
+ */
+public record StoredResponse(int status, String contentType, byte[] body) {
+}
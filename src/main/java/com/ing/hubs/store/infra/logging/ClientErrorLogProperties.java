@@ -0,0 +1,14 @@
+package com.ing.hubs.store.infra.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("store.client-error-log")
+public record ClientErrorLogProperties(
+        @DefaultValue("10s") Duration dedupeWindow,
+        @DefaultValue("10") int maxLinesPerSecond,
+        @DefaultValue("10000") int maxTrackedMessages
+) {
+}
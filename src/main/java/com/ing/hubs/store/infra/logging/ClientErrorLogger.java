@@ -0,0 +1,142 @@
+package com.ing.hubs.store.infra.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Logs expected request failures without letting a burst of them flood the log.
+ * Every failure is counted per status; a line is written only for the first occurrence of a
+ * message within the dedupe window, and at most {@code maxLinesPerSecond} lines per status.
+ * Suppressed occurrences are reported with the next line logged for the same message, or in a
+ * summary line when the message is evicted to keep at most {@code maxTrackedMessages} tracked.
+ */
+@Slf4j
+@Component
+public class ClientErrorLogger {
+
+    private final ClientErrorLogProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final long dedupeWindowNanos;
+    private final LongSupplier nanoTime;
+    private final ConcurrentMap<Integer, StatusState> statuses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, MessageState> messages = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ClientErrorLogger(final ClientErrorLogProperties properties, final MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    ClientErrorLogger(
+            final ClientErrorLogProperties properties,
+            final MeterRegistry meterRegistry,
+            final LongSupplier nanoTime
+    ) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.dedupeWindowNanos = properties.dedupeWindow().toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    public void log(final HttpStatus status, final String message) {
+        final StatusState statusState = statuses.computeIfAbsent(status.value(), this::newStatusState);
+        statusState.total.increment();
+
+        final long now = nanoTime.getAsLong();
+        if (messages.size() >= properties.maxTrackedMessages()) {
+            evictMessages();
+        }
+        final MessageState messageState = messages.computeIfAbsent(
+                status.value() + " " + message, key -> new MessageState(status.value()));
+        final long windowStart = messageState.windowStart.get();
+        // the window is only opened once a line is granted, so a rejected line leaves the count pending
+        if (messageState.isOpen(windowStart, now, dedupeWindowNanos)
+                || !statusState.tryTakeLine(now, properties.maxLinesPerSecond())
+                || !messageState.windowStart.compareAndSet(windowStart, now)) {
+            messageState.suppressed.incrementAndGet();
+            statusState.suppressed.increment();
+            return;
+        }
+        final long suppressed = messageState.suppressed.getAndSet(0);
+        if (suppressed > 0) {
+            log.warn("Request failed: {} - {} ({} similar suppressed)", status.value(), message, suppressed);
+        } else {
+            log.warn("Request failed: {} - {}", status.value(), message);
+        }
+    }
+
+    /**
+     * Forgets every tracked message, reporting the occurrences still pending for them in one
+     * line per status so they are not silently dropped.
+     */
+    private void evictMessages() {
+        final Map<Integer, Long> pending = new TreeMap<>();
+        for (final Iterator<MessageState> it = messages.values().iterator(); it.hasNext(); ) {
+            final MessageState state = it.next();
+            it.remove();
+            final long suppressed = state.suppressed.getAndSet(0);
+            if (suppressed > 0) {
+                pending.merge(state.status, suppressed, Long::sum);
+            }
+        }
+        pending.forEach((status, suppressed) ->
+                log.warn("Request failed: {} - {} similar suppressed across evicted messages", status, suppressed));
+    }
+
+    private StatusState newStatusState(final int status) {
+        final String tag = Integer.toString(status);
+        return new StatusState(
+                Counter.builder("store.http.client.errors").tag("status", tag).register(meterRegistry),
+                Counter.builder("store.http.client.errors.suppressed").tag("status", tag).register(meterRegistry)
+        );
+    }
+
+    private static final class StatusState {
+
+        private final Counter total;
+        private final Counter suppressed;
+        private final AtomicLong currentSecond = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicInteger linesThisSecond = new AtomicInteger();
+
+        private StatusState(final Counter total, final Counter suppressed) {
+            this.total = total;
+            this.suppressed = suppressed;
+        }
+
+        private boolean tryTakeLine(final long now, final int maxLinesPerSecond) {
+            final long second = now / 1_000_000_000L;
+            final long seen = currentSecond.get();
+            if (seen != second && currentSecond.compareAndSet(seen, second)) {
+                linesThisSecond.set(0);
+            }
+            return linesThisSecond.incrementAndGet() <= maxLinesPerSecond;
+        }
+    }
+
+    private static final class MessageState {
+
+        private final int status;
+        private final AtomicLong windowStart = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private MessageState(final int status) {
+            this.status = status;
+        }
+
+        private boolean isOpen(final long start, final long now, final long windowNanos) {
+            return start != Long.MIN_VALUE && now - start < windowNanos;
+        }
+    }
+}
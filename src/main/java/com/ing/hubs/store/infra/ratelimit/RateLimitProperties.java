@@ -0,0 +1,36 @@
+package com.ing.hubs.store.infra.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Set;
+
+@ConfigurationProperties("store.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Read read,
+        @DefaultValue Write write,
+        @DefaultValue("10m") Duration idleEviction,
+        @DefaultValue Set<String> exemptPrincipals
+) {
+
+    public interface Limit {
+
+        int capacity();
+
+        double refillPerSecond();
+    }
+
+    public record Read(
+            @DefaultValue("200") int capacity,
+            @DefaultValue("100") double refillPerSecond
+    ) implements Limit {
+    }
+
+    public record Write(
+            @DefaultValue("50") int capacity,
+            @DefaultValue("20") double refillPerSecond
+    ) implements Limit {
+    }
+}
@@ -0,0 +1,59 @@
+package com.ing.hubs.store.infra.ratelimit;
+
+import com.ing.hubs.store.infra.web.EndpointClass;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps one {@link TokenBucket} per principal and {@link EndpointClass}.
+ * Buckets are created on first use and evicted once they have been idle
+ * (and therefore full) for {@code store.rate-limit.idle-eviction}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final ConcurrentMap<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * @return {@code 0} when the request may proceed, otherwise the nanoseconds until it would be allowed
+     */
+    public long tryAcquire(final String principal, final EndpointClass endpointClass) {
+        if (properties.exemptPrincipals().contains(principal)) {
+            return 0;
+        }
+        final long now = System.nanoTime();
+        return buckets.computeIfAbsent(new BucketKey(principal, endpointClass), key -> newBucket(key, now))
+                .tryAcquire(now);
+    }
+
+    @Scheduled(fixedDelayString = "${store.rate-limit.eviction-interval:PT1M}")
+    public void evictIdleBuckets() {
+        final long now = System.nanoTime();
+        final long idleTimeout = properties.idleEviction().toNanos();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleTimeout));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private TokenBucket newBucket(final BucketKey key, final long now) {
+        final RateLimitProperties.Limit limit = key.endpointClass() == EndpointClass.READ
+                ? properties.read()
+                : properties.write();
+        return new TokenBucket(limit.capacity(), limit.refillPerSecond(), now);
+    }
+
+    private record BucketKey(String principal, EndpointClass endpointClass) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.ing.hubs.store.infra.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: the whole
+ * bucket state is the theoretical arrival time of the next token, updated by CAS.
+ */
+final class TokenBucket {
+
+    private final long emissionInterval;
+    private final long burstWindow;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(final int capacity, final double refillPerSecond, final long now) {
+        this.emissionInterval = (long) (1_000_000_000L / refillPerSecond);
+        this.burstWindow = emissionInterval * capacity;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return {@code 0} when the token was granted, otherwise the nanoseconds until one is available
+     */
+    long tryAcquire(final long now) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current - now, 0) + now + emissionInterval;
+            long allowedAt = next - burstWindow;
+            if (allowedAt - now > 0) {
+                return allowedAt - now;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket that has been full for longer than {@code idleTimeout} can be dropped
+     * without changing any decision, since a new bucket starts full as well.
+     */
+    boolean isIdle(final long now, final long idleTimeout) {
+        return now - theoreticalArrival.get() > idleTimeout;
+    }
+}
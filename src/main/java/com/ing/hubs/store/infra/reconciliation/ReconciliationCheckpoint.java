@@ -0,0 +1,77 @@
+package com.ing.hubs.store.infra.reconciliation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Records which chunks of a snapshot have been committed. The file holds the snapshot hash on its
+ * first line and completed chunk indexes after it. It is rewritten atomically after every chunk,
+ * so a crash loses at most the chunks still in flight, and those are simply reconciled again.
+ */
+final class ReconciliationCheckpoint {
+
+    private final Path file;
+    private final String snapshotHash;
+    private final BitSet completed;
+
+    private ReconciliationCheckpoint(final Path file, final String snapshotHash, final BitSet completed) {
+        this.file = file;
+        this.snapshotHash = snapshotHash;
+        this.completed = completed;
+    }
+
+    /**
+     * Resumes the checkpoint at {@code file} if it was written for the same snapshot, otherwise starts empty.
+     */
+    static ReconciliationCheckpoint open(final Path file, final String snapshotHash) {
+        final BitSet completed = new BitSet();
+        if (Files.exists(file)) {
+            try {
+                final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+                if (!lines.isEmpty() && lines.getFirst().equals(snapshotHash)) {
+                    lines.stream().skip(1).filter(line -> !line.isBlank()).mapToInt(Integer::parseInt).forEach(completed::set);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to read checkpoint " + file, ex);
+            }
+        }
+        return new ReconciliationCheckpoint(file, snapshotHash, completed);
+    }
+
+    synchronized boolean isCompleted(final int chunk) {
+        return completed.get(chunk);
+    }
+
+    synchronized int completedCount() {
+        return completed.cardinality();
+    }
+
+    synchronized void markCompleted(final int chunk) {
+        completed.set(chunk);
+        final StringBuilder content = new StringBuilder(snapshotHash).append('\n');
+        completed.stream().forEach(index -> content.append(index).append('\n'));
+        try {
+            final Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            final Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write checkpoint " + file, ex);
+        }
+    }
+
+    synchronized void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to delete checkpoint " + file, ex);
+        }
+    }
+}
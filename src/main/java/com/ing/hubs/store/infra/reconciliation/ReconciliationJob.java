@@ -0,0 +1,230 @@
+package com.ing.hubs.store.infra.reconciliation;
+
+import com.ing.hubs.store.domain.exception.Conflict;
+import com.ing.hubs.store.domain.service.ProductService;
+import com.ing.hubs.store.domain.service.ReconciliationResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reconciles product quantities against a warehouse snapshot file. The snapshot is sorted by id and
+ * split into chunks of {@code store.reconciliation.chunk-size} ids. A fork-join pool of
+ * {@code store.reconciliation.parallelism} workers reconciles the chunks. Each chunk runs in its own
+ * transaction through {@link ProductService#reconcileQuantities} and is checkpointed once committed.
+ * A run that crashes or fails therefore resumes with the chunks it had not finished. Products that
+ * are not in the snapshot are left untouched.
+ * <p>
+ * Runs on {@code store.reconciliation.cron}, which is disabled ({@code -}) by default.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReconciliationJob implements MeterBinder {
+
+    private final ProductService productService;
+    private final ReconciliationProperties properties;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("reconciliation").factory());
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger chunksTotal = new AtomicInteger();
+    private final AtomicInteger chunksCompleted = new AtomicInteger();
+    private final AtomicLong lastDurationMillis = new AtomicLong();
+    private Counter checked;
+    private Counter corrected;
+    private Counter missing;
+    private Counter failedChunks;
+
+    /**
+     * Hands the run to the job's own thread, so a long reconciliation does not hold up the other
+     * scheduled tasks, which share the scheduler's single thread.
+     */
+    @Scheduled(cron = "${store.reconciliation.cron:-}")
+    public void runScheduled() {
+        if (properties.snapshotFile() == null) {
+            log.warn("Reconciliation is scheduled but store.reconciliation.snapshot-file is not set");
+            return;
+        }
+        if (running.get()) {
+            log.warn("Reconciliation is already running, skipping");
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                run(properties.snapshotFile(), properties.checkpointFile());
+            } catch (RuntimeException ex) {
+                log.error("Reconciliation of {} failed", properties.snapshotFile(), ex);
+            }
+        });
+    }
+
+    /**
+     * @return {@code true} if every chunk is now reconciled, {@code false} if some failed or a run was already in progress
+     */
+    public boolean run(final Path snapshotFile, final Path checkpointFile) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Reconciliation is already running, skipping");
+            return false;
+        }
+        final long startedAt = System.nanoTime();
+        try {
+            final Snapshot snapshot = Snapshot.read(snapshotFile);
+            final ReconciliationCheckpoint checkpoint = ReconciliationCheckpoint.open(checkpointFile, snapshot.hash());
+            final int chunks = snapshot.chunkCount(properties.chunkSize());
+            chunksTotal.set(chunks);
+            chunksCompleted.set(checkpoint.completedCount());
+            if (checkpoint.completedCount() > 0) {
+                log.info("Resuming reconciliation of {} with {} of {} chunks already completed",
+                        snapshotFile, checkpoint.completedCount(), chunks);
+            }
+
+            final ForkJoinPool pool = new ForkJoinPool(properties.parallelism());
+            try {
+                pool.invoke(new ChunkRange(snapshot, checkpoint, 0, chunks));
+            } finally {
+                pool.shutdown();
+                pool.awaitTermination(1, TimeUnit.MINUTES);
+            }
+
+            final boolean complete = checkpoint.completedCount() == chunks;
+            if (complete) {
+                try {
+                    checkpoint.delete();
+                } catch (UncheckedIOException ex) {
+                    log.warn("Could not delete reconciliation checkpoint {}, the same snapshot will be skipped next time",
+                            checkpointFile, ex);
+                }
+            }
+            lastDurationMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            log.info("Reconciliation of {} {} after {} ms: {} of {} chunks done",
+                    snapshotFile, complete ? "finished" : "stopped", lastDurationMillis.get(),
+                    checkpoint.completedCount(), chunks);
+            return complete;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("store.reconciliation.running", running, flag -> flag.get() ? 1 : 0)
+                .register(registry);
+        Gauge.builder("store.reconciliation.chunks.total", chunksTotal, AtomicInteger::get)
+                .register(registry);
+        Gauge.builder("store.reconciliation.chunks.completed", chunksCompleted, AtomicInteger::get)
+                .register(registry);
+        Gauge.builder("store.reconciliation.duration", lastDurationMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(registry);
+        checked = Counter.builder("store.reconciliation.products").tag("outcome", "checked").register(registry);
+        corrected = Counter.builder("store.reconciliation.products").tag("outcome", "corrected").register(registry);
+        missing = Counter.builder("store.reconciliation.products").tag("outcome", "missing").register(registry);
+        failedChunks = Counter.builder("store.reconciliation.chunks.failed").register(registry);
+    }
+
+    private void reconcileChunk(final Snapshot snapshot, final ReconciliationCheckpoint checkpoint, final int chunk) {
+        if (checkpoint.isCompleted(chunk)) {
+            return;
+        }
+        final ReconciliationResult result = reconcileWithRetries(snapshot, chunk);
+        if (result == null) {
+            if (failedChunks != null) {
+                failedChunks.increment();
+            }
+            return;
+        }
+        chunksCompleted.incrementAndGet();
+        increment(checked, result.checked());
+        increment(corrected, result.corrected());
+        increment(missing, result.missing());
+        try {
+            checkpoint.markCompleted(chunk);
+        } catch (UncheckedIOException ex) {
+            log.warn("Reconciliation chunk {} is committed but could not be checkpointed, a resumed run repeats it",
+                    chunk, ex);
+        }
+    }
+
+    /**
+     * @return the committed result, or {@code null} if the chunk could not be reconciled
+     */
+    private ReconciliationResult reconcileWithRetries(final Snapshot snapshot, final int chunk) {
+        for (int attempt = 1; attempt <= properties.maxAttempts(); attempt++) {
+            try {
+                return productService.reconcileQuantities(snapshot.chunk(chunk, properties.chunkSize()));
+            } catch (Conflict ex) {
+                log.debug("Reconciliation chunk {} conflicted on attempt {}", chunk, attempt);
+            } catch (RuntimeException ex) {
+                log.error("Reconciliation chunk {} failed", chunk, ex);
+                return null;
+            }
+        }
+        log.error("Reconciliation chunk {} still conflicted after {} attempts", chunk, properties.maxAttempts());
+        return null;
+    }
+
+    private static void increment(final Counter counter, final int amount) {
+        if (counter != null) {
+            counter.increment(amount);
+        }
+    }
+
+    /**
+     * Splits the chunk index range in half until a single chunk is left.
+     */
+    private final class ChunkRange extends RecursiveAction {
+
+        private final Snapshot snapshot;
+        private final ReconciliationCheckpoint checkpoint;
+        private final int from;
+        private final int to;
+
+        ChunkRange(final Snapshot snapshot, final ReconciliationCheckpoint checkpoint, final int from, final int to) {
+            this.snapshot = snapshot;
+            this.checkpoint = checkpoint;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    reconcileChunk(snapshot, checkpoint, from);
+                }
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(
+                    new ChunkRange(snapshot, checkpoint, from, middle),
+                    new ChunkRange(snapshot, checkpoint, middle, to)
+            );
+        }
+    }
+}
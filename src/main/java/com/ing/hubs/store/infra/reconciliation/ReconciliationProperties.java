@@ -0,0 +1,20 @@
+package com.ing.hubs.store.infra.reconciliation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * @param snapshotFile   warehouse snapshot, one {@code product_id,quantity} pair per line
+ * @param checkpointFile completed chunks of the current snapshot, kept until a run finishes
+ */
+@ConfigurationProperties("store.reconciliation")
+public record ReconciliationProperties(
+        Path snapshotFile,
+        @DefaultValue("reconciliation.checkpoint") Path checkpointFile,
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("4") int parallelism,
+        @DefaultValue("3") int maxAttempts
+) {
+}
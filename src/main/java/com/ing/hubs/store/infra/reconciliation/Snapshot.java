@@ -0,0 +1,90 @@
+package com.ing.hubs.store.infra.reconciliation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A parsed warehouse snapshot, sorted by product id. Blank lines, {@code #} comments and a
+ * {@code product_id,quantity} header are skipped; a later line for the same id wins.
+ *
+ * @param hash SHA-256 of the file, so a checkpoint is only resumed against the snapshot it was written for
+ */
+record Snapshot(long[] ids, int[] quantities, String hash) {
+
+    static Snapshot read(final Path file) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+        final Map<Long, Integer> quantities = new LinkedHashMap<>();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("product_id")) {
+                    continue;
+                }
+                final int comma = line.indexOf(',');
+                try {
+                    final long id = Long.parseLong(line.substring(0, comma).strip());
+                    final int quantity = Integer.parseInt(line.substring(comma + 1).strip());
+                    if (quantity < 0) {
+                        throw new NumberFormatException("negative quantity");
+                    }
+                    quantities.put(id, quantity);
+                } catch (RuntimeException ex) {
+                    throw new IllegalArgumentException("Invalid snapshot line " + number + ": " + line, ex);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read snapshot " + file, ex);
+        }
+
+        final long[] ids = quantities.keySet().stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(ids);
+        final int[] sorted = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            sorted[i] = quantities.get(ids[i]);
+        }
+        return new Snapshot(ids, sorted, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    int chunkCount(final int chunkSize) {
+        return (ids.length + chunkSize - 1) / chunkSize;
+    }
+
+    /**
+     * @return the expected quantities of chunk {@code index}, a contiguous range of the sorted id space
+     */
+    Map<Long, Integer> chunk(final int index, final int chunkSize) {
+        final int from = index * chunkSize;
+        final int to = Math.min(from + chunkSize, ids.length);
+        final Map<Long, Integer> chunk = new LinkedHashMap<>((to - from) * 2);
+        for (int i = from; i < to; i++) {
+            chunk.put(ids[i], quantities[i]);
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ing.hubs.store.infra.reservation;
+
+import com.ing.hubs.store.domain.service.ReservationProperties;
+import com.ing.hubs.store.domain.service.ReservationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Gives back the stock of reservations that were neither confirmed nor cancelled before their TTL.
+ * Each reservation is expired in a transaction of its own, so the reaper holds the locks of one
+ * reservation at a time, in the same order checkout and cancellation take them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationReaper {
+
+    private final ReservationService reservationService;
+    private final ReservationProperties properties;
+
+    @Scheduled(fixedDelayString = "${store.reservation.reap-interval:PT30S}")
+    public void reapExpired() {
+        final int expired = reap(Instant.now());
+        if (expired > 0) {
+            log.info("Expired {} reservations", expired);
+        }
+    }
+
+    /**
+     * @return the number of reservations expired
+     */
+    public int reap(final Instant now) {
+        int expired = 0;
+        List<Long> batch;
+        int expiredInBatch;
+        do {
+            batch = reservationService.findExpiredIds(now, properties.reapBatchSize());
+            expiredInBatch = 0;
+            for (Long id : batch) {
+                if (reservationService.expire(id, now)) {
+                    expiredInBatch++;
+                }
+            }
+            expired += expiredInBatch;
+        } while (batch.size() == properties.reapBatchSize() && expiredInBatch > 0);
+        return expired;
+    }
+}
@@ -0,0 +1,70 @@
+package com.ing.hubs.store.infra.startup;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.util.Map;
+
+/**
+ * Drives representative requests through the real HTTP pipeline of a running instance:
+ * basic authentication, controllers, validation, persistence and serialization.
+ * Error statuses are expected (for example the deliberate miss) and are not raised.
+ */
+public class SyntheticTraffic {
+
+    private final RestClient client;
+
+    public SyntheticTraffic(final int port, final String username, final String password) {
+        this.client = RestClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth(username, password))
+                .defaultStatusHandler(HttpStatusCode::isError, (request, response) -> {
+                })
+                .build();
+    }
+
+    public void readRound() {
+        get("/products");
+        get("/products/{id}", Long.MAX_VALUE);
+        get("/products/by-name/{name}", "__synthetic-missing__");
+        get("/products?ids={ids}", "1,2,3");
+    }
+
+    /**
+     * Creates, updates and deletes a scratch product; requires an ADMIN principal.
+     */
+    public void writeRound(final String scratchName) {
+        final Map<?, ?> created = client.post()
+                .uri("/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("name", scratchName, "description", "synthetic", "price", 1.0, "quantity", 1))
+                .retrieve()
+                .body(Map.class);
+        if (created == null || !(created.get("id") instanceof Number id)) {
+            return;
+        }
+        get("/products/{id}", id);
+        get("/products/by-name/{name}", scratchName);
+        patch("/products/{id}/price", id, Map.of("price", 2.0));
+        patch("/products/{id}/quantity", id, Map.of("quantity", 2));
+        client.delete().uri("/products/{id}", id).retrieve().toBodilessEntity();
+    }
+
+    private void get(final String uri, final Object... variables) {
+        client.get()
+                .uri(uri, variables)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    private void patch(final String uri, final Object id, final Map<String, ?> body) {
+        client.patch()
+                .uri(uri, id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
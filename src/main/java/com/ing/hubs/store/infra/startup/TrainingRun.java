@@ -0,0 +1,42 @@
+package com.ing.hubs.store.infra.startup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exercises the application once it has started and then exits, so that a JVM launched with
+ * {@code -XX:ArchiveClassesAtExit} records every class loaded on the request path in its CDS archive.
+ * <p>
+ * Enabled with {@code store.startup.training-run.enabled=true}. The flag is read at runtime rather
+ * than through a condition, because conditions are frozen when the AOT-processed context is built.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrainingRun implements ApplicationRunner {
+
+    private final TrainingRunProperties properties;
+    private final Environment environment;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        if (!properties.enabled()) {
+            return;
+        }
+        final int port = environment.getRequiredProperty("local.server.port", Integer.class);
+        final SyntheticTraffic traffic = new SyntheticTraffic(port, properties.username(), properties.password());
+        for (int i = 0; i < properties.iterations(); i++) {
+            traffic.writeRound("__training-" + i + "__");
+            traffic.readRound();
+        }
+        log.info("Training run finished after {} iterations, exiting", properties.iterations());
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,13 @@
+package com.ing.hubs.store.infra.startup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("store.startup.training-run")
+public record TrainingRunProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("50") int iterations,
+        @DefaultValue("admin") String username,
+        @DefaultValue("admin") String password
+) {
+}
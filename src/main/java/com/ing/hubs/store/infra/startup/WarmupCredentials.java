@@ -0,0 +1,25 @@
+package com.ing.hubs.store.infra.startup;
+
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Identity used by the warm-up traffic. The password is generated per process, so the
+ * account cannot be used from outside the instance that created it.
+ */
+@Component
+public class WarmupCredentials {
+
+    public static final String USERNAME = "warmup";
+
+    private final String password = UUID.randomUUID().toString();
+
+    public String username() {
+        return USERNAME;
+    }
+
+    public String password() {
+        return password;
+    }
+}
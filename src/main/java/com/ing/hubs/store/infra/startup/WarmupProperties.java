@@ -0,0 +1,18 @@
+package com.ing.hubs.store.infra.startup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("store.startup.warmup")
+public record WarmupProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5") int batchSize,
+        @DefaultValue("10") int minIterations,
+        @DefaultValue("200") int maxIterations,
+        @DefaultValue("3") int stableBatches,
+        @DefaultValue("20ms") Duration stableCompilationTime,
+        @DefaultValue("60s") Duration maxDuration
+) {
+}
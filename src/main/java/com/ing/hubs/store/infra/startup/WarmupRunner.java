@@ -0,0 +1,116 @@
+package com.ing.hubs.store.infra.startup;
+
+import com.ing.hubs.store.domain.entity.Product;
+import com.ing.hubs.store.domain.service.ProductService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Warms the JIT before the instance reports ready. Runs synchronously as an application runner,
+ * and Spring Boot only switches readiness to {@code ACCEPTING_TRAFFIC} once all runners have
+ * completed, so {@code /actuator/health/readiness} stays down for the whole warm-up.
+ * <p>
+ * Each iteration sends read traffic through the real HTTP pipeline (authentication, controllers,
+ * Jackson, Hibernate) and runs the write paths of {@link ProductService} in a transaction that is
+ * rolled back. Iterations continue in batches until JIT compilation time per batch has levelled off.
+ */
+@Slf4j
+@Component
+public class WarmupRunner implements ApplicationRunner, MeterBinder {
+
+    private final WarmupProperties properties;
+    private final WarmupCredentials credentials;
+    private final Environment environment;
+    private final ProductService productService;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile long durationMillis;
+    private volatile int iterations;
+
+    public WarmupRunner(
+            final WarmupProperties properties,
+            final WarmupCredentials credentials,
+            final Environment environment,
+            final ProductService productService,
+            final PlatformTransactionManager transactionManager
+    ) {
+        this.properties = properties;
+        this.credentials = credentials;
+        this.environment = environment;
+        this.productService = productService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        if (!properties.enabled()) {
+            return;
+        }
+        final long startedAt = System.nanoTime();
+        final long deadline = startedAt + properties.maxDuration().toNanos();
+        final int port = environment.getRequiredProperty("local.server.port", Integer.class);
+        final SyntheticTraffic traffic = new SyntheticTraffic(port, credentials.username(), credentials.password());
+        final CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        final boolean compilationTracked = compilation != null && compilation.isCompilationTimeMonitoringSupported();
+
+        int stableBatches = 0;
+        long compilationTime = compilationTracked ? compilation.getTotalCompilationTime() : 0;
+        while (iterations < properties.maxIterations() && System.nanoTime() < deadline) {
+            for (int i = 0; i < properties.batchSize(); i++) {
+                traffic.readRound();
+                writeRoundRolledBack(iterations);
+                iterations++;
+            }
+            if (!compilationTracked) {
+                stableBatches++;
+            } else {
+                long total = compilation.getTotalCompilationTime();
+                stableBatches = total - compilationTime <= properties.stableCompilationTime().toMillis()
+                        ? stableBatches + 1
+                        : 0;
+                compilationTime = total;
+            }
+            if (iterations >= properties.minIterations() && stableBatches >= properties.stableBatches()) {
+                break;
+            }
+        }
+        durationMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        log.info("Warm-up finished after {} iterations in {} ms", iterations, durationMillis);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("store.startup.warmup.duration", this, runner -> runner.durationMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("store.startup.warmup.iterations", this, runner -> runner.iterations)
+                .register(registry);
+    }
+
+    private void writeRoundRolledBack(final int iteration) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Product created = productService.createProduct(Product.builder()
+                    .name("__warmup-" + iteration + "__")
+                    .description("warm-up")
+                    .price(1.0)
+                    .quantity(1)
+                    .build());
+            productService.updateProductPrice(created.getId(), 2.0);
+            productService.updateProductQuantity(created.getId(), 2);
+            productService.getProductByName(created.getName());
+            productService.deleteProductById(created.getId());
+            status.setRollbackOnly();
+        });
+    }
+}
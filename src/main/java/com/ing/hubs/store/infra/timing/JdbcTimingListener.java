@@ -0,0 +1,60 @@
+package com.ing.hubs.store.infra.timing;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Reports Hibernate's JDBC work as {@link TimingPhase#DB}. Registered for every session through
+ * {@code hibernate.session.events.auto}, so it must keep a public no-arg constructor.
+ */
+public class JdbcTimingListener implements SessionEventListener {
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        RequestTiming.start(TimingPhase.DB);
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestTiming.stop(TimingPhase.DB);
+    }
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        RequestTiming.start(TimingPhase.DB);
+    }
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        RequestTiming.stop(TimingPhase.DB);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        RequestTiming.start(TimingPhase.DB);
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTiming.stop(TimingPhase.DB);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        RequestTiming.start(TimingPhase.DB);
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTiming.stop(TimingPhase.DB);
+    }
+
+    @Override
+    public void flushStart() {
+        RequestTiming.start(TimingPhase.DB);
+    }
+
+    @Override
+    public void flushEnd(final int numberOfEntities, final int numberOfCollections) {
+        RequestTiming.stop(TimingPhase.DB);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ing.hubs.store.infra.timing;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Marks where a {@link TimingPhase} starts or stops in the filter chain, for phases that are a
+ * filter of their own, like authentication. A stop marker is never reached when the filter in
+ * between rejects the request; {@link RequestTiming} then closes the phase when the request ends.
+ */
+public final class PhaseBoundaryFilter implements Filter {
+
+    private final TimingPhase phase;
+    private final boolean start;
+
+    private PhaseBoundaryFilter(final TimingPhase phase, final boolean start) {
+        this.phase = phase;
+        this.start = start;
+    }
+
+    public static PhaseBoundaryFilter start(final TimingPhase phase) {
+        return new PhaseBoundaryFilter(phase, true);
+    }
+
+    public static PhaseBoundaryFilter stop(final TimingPhase phase) {
+        return new PhaseBoundaryFilter(phase, false);
+    }
+
+    @Override
+    public void doFilter(
+            final ServletRequest request,
+            final ServletResponse response,
+            final FilterChain chain
+    ) throws IOException, ServletException {
+        if (start) {
+            RequestTiming.start(phase);
+        } else {
+            RequestTiming.stop(phase);
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ing.hubs.store.infra.timing;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Phase durations of the sampled request running on the current thread. Every entry point is a
+ * no-op when the request is not sampled, so instrumented code pays one thread-local read.
+ * <p>
+ * Starts and stops of the same phase may nest, for example a statement executed during a flush;
+ * only the outermost pair is counted.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt;
+    private final long[] elapsed = new long[TimingPhase.values().length];
+    private final long[] openedAt = new long[TimingPhase.values().length];
+    private final int[] depth = new int[TimingPhase.values().length];
+
+    private RequestTiming(final long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    static RequestTiming begin() {
+        final RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static void start(final TimingPhase phase) {
+        final RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.depth[phase.ordinal()]++ == 0) {
+            timing.openedAt[phase.ordinal()] = System.nanoTime();
+        }
+    }
+
+    public static void stop(final TimingPhase phase) {
+        final RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.depth[phase.ordinal()] > 0 && --timing.depth[phase.ordinal()] == 0) {
+            timing.elapsed[phase.ordinal()] += System.nanoTime() - timing.openedAt[phase.ordinal()];
+        }
+    }
+
+    public static <T> T time(final TimingPhase phase, final Supplier<T> action) {
+        start(phase);
+        try {
+            return action.get();
+        } finally {
+            stop(phase);
+        }
+    }
+
+    /**
+     * Closes the phases left open, such as authentication when it rejected the request.
+     *
+     * @return the total request duration in nanoseconds
+     */
+    long finish() {
+        final long now = System.nanoTime();
+        for (int i = 0; i < depth.length; i++) {
+            if (depth[i] > 0) {
+                elapsed[i] += now - openedAt[i];
+                depth[i] = 0;
+            }
+        }
+        return now - startedAt;
+    }
+
+    long elapsed(final TimingPhase phase) {
+        return elapsed[phase.ordinal()];
+    }
+
+    String toHeader(final long totalNanos) {
+        final StringBuilder header = new StringBuilder(96);
+        for (TimingPhase phase : TimingPhase.values()) {
+            header.append(phase.metricName()).append(";dur=").append(millis(elapsed(phase))).append(", ");
+        }
+        return header.append("total;dur=").append(millis(totalNanos)).toString();
+    }
+
+    private static String millis(final long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1e6);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ing.hubs.store.infra.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Opens {@link TimingPhase#SERIALIZATION} right before a message converter writes the response
+ * body and closes it once the handler has completed, error responses included.
+ */
+@ControllerAdvice
+public class SerializationTimingAdvice implements ResponseBodyAdvice<Object>, HandlerInterceptor {
+
+    @Override
+    public boolean supports(
+            final MethodParameter returnType,
+            final Class<? extends HttpMessageConverter<?>> converterType
+    ) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            final Object body,
+            final MethodParameter returnType,
+            final MediaType selectedContentType,
+            final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            final ServerHttpRequest request,
+            final ServerHttpResponse response
+    ) {
+        RequestTiming.start(TimingPhase.SERIALIZATION);
+        return body;
+    }
+
+    @Override
+    public void afterCompletion(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final Object handler,
+            final Exception ex
+    ) {
+        RequestTiming.stop(TimingPhase.SERIALIZATION);
+    }
+}
@@ -0,0 +1,94 @@
+package com.ing.hubs.store.infra.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times a sample of requests by {@link TimingPhase}, reports the breakdown in a
+ * {@code Server-Timing} response header and records it in the {@code store.request.phase}
+ * histograms. It runs first in the security chain so that authentication is inside the window.
+ * Unsampled requests pass straight through.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private final ServerTimingProperties properties;
+    private final Map<TimingPhase, Timer> timers = new EnumMap<>(TimingPhase.class);
+
+    public ServerTimingFilter(final ServerTimingProperties properties, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (TimingPhase phase : TimingPhase.values()) {
+            timers.put(phase, Timer.builder("store.request.phase")
+                    .tag("phase", phase.metricName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return !properties.enabled() || ThreadLocalRandom.current().nextDouble() >= properties.sampleRate();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final FilterChain chain
+    ) throws ServletException, IOException {
+        final RequestTiming timing = RequestTiming.begin();
+        final TimedResponse buffered = new TimedResponse(response, timing);
+        try {
+            chain.doFilter(request, buffered);
+        } finally {
+            RequestTiming.end();
+            final long total = timing.finish();
+            if (!response.isCommitted() && !response.containsHeader(HEADER)) {
+                response.setHeader(HEADER, timing.toHeader(total));
+            }
+            for (TimingPhase phase : TimingPhase.values()) {
+                timers.get(phase).record(timing.elapsed(phase), TimeUnit.NANOSECONDS);
+            }
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Buffers the body so the header can follow it. An error sent by the chain, such as a failed
+     * authentication, is rendered by the container afterwards, so its header is set right away.
+     */
+    private static final class TimedResponse extends ContentCachingResponseWrapper {
+
+        private final RequestTiming timing;
+
+        TimedResponse(final HttpServletResponse response, final RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        public void sendError(final int sc) throws IOException {
+            setHeader(HEADER, timing.toHeader(timing.finish()));
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(final int sc, final String msg) throws IOException {
+            setHeader(HEADER, timing.toHeader(timing.finish()));
+            super.sendError(sc, msg);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ing.hubs.store.infra.timing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param sampleRate fraction of requests, from 0 to 1, that are timed; sampled responses are buffered
+ *                   so the header can be set after the body is written
+ */
+@ConfigurationProperties("store.server-timing")
+public record ServerTimingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0.1") double sampleRate
+) {
+}
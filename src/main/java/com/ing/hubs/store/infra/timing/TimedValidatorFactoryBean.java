@@ -0,0 +1,80 @@
+package com.ing.hubs.store.infra.timing;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.executable.ExecutableValidator;
+import jakarta.validation.metadata.BeanDescriptor;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * The application's validator, timing every call as {@link TimingPhase#VALIDATION}. Spring MVC
+ * uses it for {@code @Valid} request bodies and method validation uses it for {@code @Validated}
+ * services, so both passes over a request are counted.
+ */
+public class TimedValidatorFactoryBean extends LocalValidatorFactoryBean {
+
+    @Override
+    public void validate(final Object target, final Errors errors) {
+        RequestTiming.start(TimingPhase.VALIDATION);
+        try {
+            super.validate(target, errors);
+        } finally {
+            RequestTiming.stop(TimingPhase.VALIDATION);
+        }
+    }
+
+    @Override
+    public void validate(final Object target, final Errors errors, final Object... validationHints) {
+        RequestTiming.start(TimingPhase.VALIDATION);
+        try {
+            super.validate(target, errors, validationHints);
+        } finally {
+            RequestTiming.stop(TimingPhase.VALIDATION);
+        }
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validate(final T object, final Class<?>... groups) {
+        return RequestTiming.time(TimingPhase.VALIDATION, () -> super.validate(object, groups));
+    }
+
+    @Override
+    public ExecutableValidator forExecutables() {
+        return new TimedExecutableValidator(super.forExecutables());
+    }
+
+    private record TimedExecutableValidator(ExecutableValidator delegate) implements ExecutableValidator {
+
+        @Override
+        public <T> Set<ConstraintViolation<T>> validateParameters(
+                final T object, final Method method, final Object[] parameterValues, final Class<?>... groups) {
+            return RequestTiming.time(TimingPhase.VALIDATION,
+                    () -> delegate.validateParameters(object, method, parameterValues, groups));
+        }
+
+        @Override
+        public <T> Set<ConstraintViolation<T>> validateReturnValue(
+                final T object, final Method method, final Object returnValue, final Class<?>... groups) {
+            return RequestTiming.time(TimingPhase.VALIDATION,
+                    () -> delegate.validateReturnValue(object, method, returnValue, groups));
+        }
+
+        @Override
+        public <T> Set<ConstraintViolation<T>> validateConstructorParameters(
+                final Constructor<? extends T> constructor, final Object[] parameterValues, final Class<?>... groups) {
+            return RequestTiming.time(TimingPhase.VALIDATION,
+                    () -> delegate.validateConstructorParameters(constructor, parameterValues, groups));
+        }
+
+        @Override
+        public <T> Set<ConstraintViolation<T>> validateConstructorReturnValue(
+                final Constructor<? extends T> constructor, final T createdObject, final Class<?>... groups) {
+            return RequestTiming.time(TimingPhase.VALIDATION,
+                    () -> delegate.validateConstructorReturnValue(constructor, createdObject, groups));
+        }
+    }
+}
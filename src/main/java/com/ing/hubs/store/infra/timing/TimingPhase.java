@@ -0,0 +1,27 @@
+package com.ing.hubs.store.infra.timing;
+
+/**
+ * The request phases reported in {@code Server-Timing}. They do not overlap, so their sum is the
+ * part of the request that is accounted for; the rest is controller and service code.
+ */
+public enum TimingPhase {
+
+    /** The security chain's credential check, bcrypt included. */
+    AUTH("auth"),
+    /** Bean validation of request bodies and of service method arguments. */
+    VALIDATION("validation"),
+    /** JDBC connection acquisition, statement preparation and execution, and Hibernate flushes. */
+    DB("db"),
+    /** Writing the response body through the message converters. */
+    SERIALIZATION("serialization");
+
+    private final String metricName;
+
+    TimingPhase(final String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String metricName() {
+        return metricName;
+    }
+}
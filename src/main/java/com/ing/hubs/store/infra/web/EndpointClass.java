@@ -0,0 +1,13 @@
+package com.ing.hubs.store.infra.web;
+
+public enum EndpointClass {
+    READ,
+    WRITE;
+
+    public static EndpointClass of(final String httpMethod) {
+        return switch (httpMethod) {
+            case "GET", "HEAD", "OPTIONS" -> READ;
+            default -> WRITE;
+        };
+    }
+}
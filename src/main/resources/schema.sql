@@ -0,0 +1,5 @@
+-- Written on the primary and read back from the replica by ReplicaLagMonitor.
+CREATE TABLE IF NOT EXISTS replica_heartbeat (
+    id      INT PRIMARY KEY,
+    beat_at TIMESTAMP NOT NULL
+);
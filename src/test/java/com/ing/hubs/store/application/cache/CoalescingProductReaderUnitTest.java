@@ -0,0 +1,110 @@
+package com.ing.hubs.store.application.cache;
+
+import com.ing.hubs.store.domain.entity.Product;
+import com.ing.hubs.store.domain.service.ProductService;
+import com.ing.hubs.store.domain.utils.ProductMother;
+import com.ing.hubs.store.infra.concurrency.SingleFlightProperties;
+import com.ing.hubs.store.infra.datasource.ReadYourWritesTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingProductReaderUnitTest {
+
+    @Mock
+    private ProductService productService;
+    @Mock
+    private ReadYourWritesTracker readYourWrites;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void getProductByName_whenNamesDifferOnlyInCaseAndSpacing_sharesOneLoad() throws Exception {
+        // given
+        final CoalescingProductReader reader = aReader();
+        final Product milk = ProductMother.aProductEntity(1L, "Milk");
+        final CountDownLatch release = new CountDownLatch(1);
+        given(productService.getProductByName(anyString())).willAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return milk;
+        });
+
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            final Future<Product> first = executor.submit(() -> reader.getProductByName("Milk"));
+            waitUntil(() -> count("store.single.flight.loads", "name") == 1);
+            final Future<Product> second = executor.submit(() -> reader.getProductByName(" MILK "));
+            waitUntil(() -> count("store.single.flight.coalesced", "name") == 1);
+            release.countDown();
+
+            // then
+            assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(milk);
+            assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(milk);
+        }
+        then(productService).should().getProductByName("Milk");
+        then(productService).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    void getProductById_whenCallerIsPinnedToPrimary_doesNotJoinAnotherCallersLoad() throws Exception {
+        // given
+        final CoalescingProductReader reader = aReader();
+        final Product stale = ProductMother.aProductEntity(1L).withPrice(5.0);
+        final Product fresh = ProductMother.aProductEntity(1L).withPrice(7.25);
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        given(readYourWrites.isPinnedToPrimary()).willReturn(false, true);
+        given(productService.getProductById(1L)).willAnswer(inv -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return stale;
+        }).willReturn(fresh);
+
+        // when
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            final Future<Product> replicaLoad = executor.submit(() -> reader.getProductById(1L));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            final Product pinned = reader.getProductById(1L);
+            release.countDown();
+
+            // then
+            assertThat(pinned).isSameAs(fresh);
+            assertThat(replicaLoad.get(5, TimeUnit.SECONDS)).isSameAs(stale);
+        }
+        assertThat(count("store.single.flight.coalesced", "id")).isZero();
+    }
+
+    private CoalescingProductReader aReader() {
+        final CoalescingProductReader reader = new CoalescingProductReader(
+                productService, readYourWrites, new SingleFlightProperties(Duration.ofSeconds(5)));
+        reader.bindTo(registry);
+        return reader;
+    }
+
+    private double count(final String name, final String key) {
+        return registry.get(name).tag("key", key).functionCounter().count();
+    }
+
+    private static void waitUntil(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
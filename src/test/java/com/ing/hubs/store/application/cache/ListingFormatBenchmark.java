@@ -0,0 +1,84 @@
+package com.ing.hubs.store.application.cache;
+
+import com.ing.hubs.store.application.dto.ProductResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size and encode/decode throughput of a large product listing in every
+ * {@link ListingFormat}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+class ListingFormatBenchmark {
+
+    private static final int PRODUCTS = 10_000;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 200;
+
+    @Test
+    void largeListing_binaryFormats_areSmallerThanJson() {
+        // given
+        final List<ProductResponse> listing = LongStream.rangeClosed(1, PRODUCTS)
+                .mapToObj(id -> ProductResponse.builder()
+                        .id(id)
+                        .name("Product " + id)
+                        .description("Description of product " + id)
+                        .price(id * 0.37)
+                        .quantity((int) (id % 500))
+                        .build())
+                .toList();
+        final Map<ListingFormat, ObjectMapper> mappers = new EnumMap<>(ListingFormat.class);
+        mappers.put(ListingFormat.JSON, JsonMapper.builder().build());
+        mappers.put(ListingFormat.CBOR, CBORMapper.builder().build());
+        mappers.put(ListingFormat.SMILE, SmileMapper.builder().build());
+
+        // when
+        final Map<ListingFormat, Result> results = new EnumMap<>(ListingFormat.class);
+        mappers.forEach((format, mapper) -> results.put(format, measure(mapper, listing)));
+
+        // then
+        results.forEach((format, result) -> log.info("{}: {} bytes, encode {} ms, decode {} ms",
+                format, result.size(), String.format("%.2f", result.encodeMillis()),
+                String.format("%.2f", result.decodeMillis())));
+        final Result json = results.get(ListingFormat.JSON);
+        assertThat(results.get(ListingFormat.CBOR).size()).isLessThan(json.size());
+        assertThat(results.get(ListingFormat.SMILE).size()).isLessThan(json.size());
+    }
+
+    private static Result measure(final ObjectMapper mapper, final List<ProductResponse> listing) {
+        final byte[] payload = mapper.writeValueAsBytes(listing);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(listing), ProductResponse[].class);
+        }
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            mapper.writeValueAsBytes(listing);
+        }
+        final double encodeMillis = (System.nanoTime() - begin) / 1e6 / MEASURED_ROUNDS;
+
+        begin = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            mapper.readValue(payload, ProductResponse[].class);
+        }
+        final double decodeMillis = (System.nanoTime() - begin) / 1e6 / MEASURED_ROUNDS;
+
+        return new Result(payload.length, encodeMillis, decodeMillis);
+    }
+
+    private record Result(int size, double encodeMillis, double decodeMillis) {
+    }
+}
@@ -1,22 +1,36 @@
 package com.ing.hubs.store.application.controller;
 
+import com.ing.hubs.store.application.dto.PriceHistoryResponse;
+import com.ing.hubs.store.application.dto.ProductLookupResponse;
 import com.ing.hubs.store.application.dto.ProductResponse;
 import com.ing.hubs.store.application.utils.ProductRequestMother;
+import com.ing.hubs.store.domain.repository.PriceHistoryBlockRepository;
 import com.ing.hubs.store.domain.repository.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureRestTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.client.RestTestClient;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
 import java.util.Objects;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -25,10 +39,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class ProductControllerIntegrationTests {
 
+    private static final CBORMapper CBOR_MAPPER = CBORMapper.builder().build();
+    private static final SmileMapper SMILE_MAPPER = SmileMapper.builder().build();
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    @LocalServerPort
+    private int port;
     @Autowired
     private RestTestClient notAuthenticatedClient;
     @Autowired
     private ProductRepository productRepository;
+    @Autowired
+    private PriceHistoryBlockRepository priceHistoryBlockRepository;
 
     private RestTestClient adminClient;
     private RestTestClient userClient;
@@ -147,6 +169,58 @@ class ProductControllerIntegrationTests {
                 .isEqualTo(created);
     }
 
+    @Test
+    void givenExistingProduct_whenGetByNameInOtherCaseAndForm_thenReturnOk() {
+        // given
+        ProductResponse created =
+                adminClient.post()
+                        .uri("/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(ProductRequestMother.aCreateProductRequest("Whole Milk"))
+                        .exchange()
+                        .expectStatus().isCreated()
+                        .expectBody(ProductResponse.class)
+                        .returnResult()
+                        .getResponseBody();
+
+        // when / then
+        for (String name : List.of("whole milk", "WHOLE MILK", " Whole Milk ", "\uFF37hole \uFF2Dilk")) {
+            userClient.get()
+                    .uri("/products/by-name/{name}", name)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(ProductResponse.class)
+                    .isEqualTo(created);
+        }
+        userClient.get()
+                .uri("/products/by-name/{name}?fields=id", "WHOLE MILK")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(created.id());
+    }
+
+    @Test
+    void givenExistingProduct_whenCreateNameDifferingOnlyInCase_thenReturnConflict() {
+        // given
+        adminClient.post()
+                .uri("/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ProductRequestMother.aCreateProductRequest("Bread"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        // when / then
+        adminClient.post()
+                .uri("/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ProductRequestMother.aCreateProductRequest("BREAD "))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
     @Test
     void givenMissingProduct_whenGetByName_thenReturnNotFound() {
         // given / when / then
@@ -202,6 +276,392 @@ class ProductControllerIntegrationTests {
         assertThat(Arrays.stream(all).anyMatch(p -> Objects.equals(p.id(), p2.id()))).isTrue();
     }
 
+    @Test
+    void givenListingServed_whenProductUpdated_thenListingReflectsUpdate() {
+        // given
+        ProductResponse created =
+                adminClient.post()
+                        .uri("/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(ProductRequestMother.aCreateProductRequest("Milk"))
+                        .exchange()
+                        .expectStatus().isCreated()
+                        .expectBody(ProductResponse.class)
+                        .returnResult()
+                        .getResponseBody();
+
+        assertThat(created).isNotNull();
+
+        userClient.get()
+                .uri("/products")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductResponse[].class)
+                .value(all -> assertThat(all).extracting(ProductResponse::price).containsExactly(5.5));
+
+        adminClient.patch()
+                .uri("/products/{id}/price", created.id())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ProductRequestMother.anUpdatePriceRequest(7.0))
+                .exchange()
+                .expectStatus().isOk();
+
+        // when / then
+        userClient.get()
+                .uri("/products")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductResponse[].class)
+                .value(all -> assertThat(all).extracting(ProductResponse::price).containsExactly(7.0));
+    }
+
+    @Test
+    void givenLargeListing_whenGetAllAcceptingGzip_thenReturnFullListing() throws IOException {
+        // given
+        for (int i = 0; i < 20; i++) {
+            adminClient.post()
+                    .uri("/products")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ProductRequestMother.aCreateProductRequest("Product " + i))
+                    .exchange()
+                    .expectStatus().isCreated();
+        }
+
+        // the auto-configured client decompresses gzip responses and drops Content-Encoding
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory();
+        requestFactory.enableCompression(false);
+        RestTestClient rawClient = withBasicAuth(
+                RestTestClient.bindToServer(requestFactory).baseUrl("http://localhost:" + port).build(), "user", "user");
+
+        // when
+        byte[] compressed = rawClient.get()
+                .uri("/products")
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(JSON_MAPPER.readValue(in.readAllBytes(), ProductResponse[].class)).hasSize(20);
+        }
+    }
+
+    @Test
+    void givenCborRequest_whenCreateAndGetAll_thenRoundTripInCbor() {
+        // given
+        byte[] request = CBOR_MAPPER.writeValueAsBytes(ProductRequestMother.aCreateProductRequest("Milk"));
+
+        adminClient.post()
+                .uri("/products")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .body(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR);
+
+        // when
+        byte[] listing = userClient.get()
+                .uri("/products")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // then
+        assertThat(CBOR_MAPPER.readValue(listing, ProductResponse[].class))
+                .extracting(ProductResponse::name)
+                .containsExactly("Milk");
+    }
+
+    @Test
+    void givenSmileAccept_whenGetAll_thenReturnSmileListing() {
+        // given
+        adminClient.post()
+                .uri("/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ProductRequestMother.aCreateProductRequest("Milk"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        // when
+        byte[] listing = userClient.get()
+                .uri("/products")
+                .header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/x-jackson-smile")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/x-jackson-smile")
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // then
+        assertThat(SMILE_MAPPER.readValue(listing, ProductResponse[].class))
+                .extracting(ProductResponse::name)
+                .containsExactly("Milk");
+    }
+
+    @Test
+    void givenWildcardAndCborAccept_whenGetAll_thenMoreSpecificCborWins() {
+        // given
+        adminClient.post()
+                .uri("/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ProductRequestMother.aCreateProductRequest("Milk"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        // when
+        byte[] listing = userClient.get()
+                .uri("/products")
+                .header(HttpHeaders.ACCEPT, "*/*, application/cbor")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // then
+        assertThat(CBOR_MAPPER.readValue(listing, ProductResponse[].class))
+                .extracting(ProductResponse::name)
+                .containsExactly("Milk");
+    }
+
+    @Test
+    void givenUnsupportedAccept_whenGetAllOrGetById_thenReturnNotAcceptable() {
+        // given
+        ProductResponse created = adminClient.post()
+                .uri("/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ProductRequestMother.aCreateProductRequest("Milk"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(ProductResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        // when / then
+        userClient.get()
+                .uri("/products")
+                .header(HttpHeaders.ACCEPT, "text/csv")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_ACCEPTABLE);
+
+        userClient.get()
+                .uri("/products/{id}", created.id())
+                .header(HttpHeaders.ACCEPT, "text/csv")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_ACCEPTABLE);
+    }
+
+    @Test
+    void givenFields_whenGetAll_thenReturnOnlyRequestedFields() {
+        // given
+        adminClient.post()
+                .uri("/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ProductRequestMother.aCreateProductRequest("Milk"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        // when / then
+        userClient.get()
+                .uri("/products?fields=price,id")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isNumber()
+                .jsonPath("$[0].price").isEqualTo(5.5)
+                .jsonPath("$[0].name").doesNotExist()
+                .jsonPath("$[0].description").doesNotExist()
+                .jsonPath("$[0].quantity").doesNotExist();
+    }
+
+    @Test
+    void givenFields_whenGetByName_thenReturnOnlyRequestedFields() {
+        // given
+        adminClient.post()
+                .uri("/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ProductRequestMother.aCreateProductRequest("Milk"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        // when / then
+        userClient.get()
+                .uri("/products/by-name/{name}?fields=quantity", "Milk")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .json("{\"quantity\": 10}", JsonCompareMode.STRICT);
+    }
+
+    @Test
+    void givenUnknownField_whenGetAll_thenReturnBadRequest() {
+        // given / when / then
+        userClient.get()
+                .uri("/products?fields=id,secret")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void givenPriceUpdates_whenGetPriceHistory_thenReturnEveryPriceInOrder() {
+        // given
+        ProductResponse created =
+                adminClient.post()
+                        .uri("/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(ProductRequestMother.aCreateProductRequest("Milk"))
+                        .exchange()
+                        .expectStatus().isCreated()
+                        .expectBody(ProductResponse.class)
+                        .returnResult()
+                        .getResponseBody();
+        assertThat(created).isNotNull();
+        for (double price : new double[]{6.0, 7.25}) {
+            adminClient.patch()
+                    .uri("/products/{id}/price", created.id())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ProductRequestMother.anUpdatePriceRequest(price))
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        // when / then
+        userClient.get()
+                .uri("/products/{id}/price-history", created.id())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PriceHistoryResponse.class)
+                .value(history -> assertThat(history.points())
+                        .extracting(PriceHistoryResponse.Point::price)
+                        .containsExactly(5.5, 6.0, 7.25));
+    }
+
+    @Test
+    void givenDeletedProduct_whenGetPriceHistory_thenReturnNotFoundAndHistoryIsRemoved() {
+        // given
+        ProductResponse created =
+                adminClient.post()
+                        .uri("/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(ProductRequestMother.aCreateProductRequest("Milk"))
+                        .exchange()
+                        .expectStatus().isCreated()
+                        .expectBody(ProductResponse.class)
+                        .returnResult()
+                        .getResponseBody();
+        assertThat(created).isNotNull();
+        assertThat(priceHistoryBlockRepository.findOverlapping(created.id(), 0, Long.MAX_VALUE)).hasSize(1);
+
+        // when
+        adminClient.delete()
+                .uri("/products/{id}", created.id())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        // then
+        assertThat(priceHistoryBlockRepository.findOverlapping(created.id(), 0, Long.MAX_VALUE)).isEmpty();
+        userClient.get()
+                .uri("/products/{id}/price-history", created.id())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void givenInvertedRange_whenGetPriceHistory_thenReturnBadRequest() {
+        // given / when / then
+        userClient.get()
+                .uri("/products/1/price-history?from=2026-02-01T00:00:00Z&to=2026-01-01T00:00:00Z")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void givenUserAuth_whenGetStats_thenReturnCatalogAggregates() {
+        // given / when / then
+        userClient.get()
+                .uri("/products/stats")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.sku_count").isNumber()
+                .jsonPath("$.stock_value").isNumber()
+                .jsonPath("$.low_stock_threshold").isEqualTo(5);
+    }
+
+    @Test
+    void givenProducts_whenGetByIds_thenReturnRequestedOrderAndMissingIds() {
+        // given
+        ProductResponse milk =
+                adminClient.post()
+                        .uri("/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(ProductRequestMother.aCreateProductRequest("Milk"))
+                        .exchange()
+                        .expectStatus().isCreated()
+                        .expectBody(ProductResponse.class)
+                        .returnResult()
+                        .getResponseBody();
+
+        ProductResponse bread =
+                adminClient.post()
+                        .uri("/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(ProductRequestMother.aCreateProductRequest("Bread"))
+                        .exchange()
+                        .expectStatus().isCreated()
+                        .expectBody(ProductResponse.class)
+                        .returnResult()
+                        .getResponseBody();
+
+        assertThat(milk).isNotNull();
+        assertThat(bread).isNotNull();
+
+        // when / then
+        userClient.get()
+                .uri("/products?ids={ids}", bread.id() + ",9999," + milk.id())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductLookupResponse.class)
+                .value(lookup -> {
+                    assertThat(lookup.products()).containsExactly(bread, milk);
+                    assertThat(lookup.missingIds()).containsExactly(9999L);
+                });
+    }
+
+    @Test
+    void givenInvalidIds_whenGetByIds_thenReturnBadRequest() {
+        // given / when / then
+        userClient.get()
+                .uri("/products?ids={ids}", "1,abc")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     void givenExistingProduct_whenUpdatePrice_thenReturnUpdated() {
         // given
@@ -0,0 +1,152 @@
+package com.ing.hubs.store.application.controller;
+
+import com.ing.hubs.store.application.dto.CreateReservationRequest;
+import com.ing.hubs.store.application.dto.ProductResponse;
+import com.ing.hubs.store.application.dto.ReservationLineRequest;
+import com.ing.hubs.store.application.dto.ReservationResponse;
+import com.ing.hubs.store.application.utils.ProductRequestMother;
+import com.ing.hubs.store.domain.entity.ReservationStatus;
+import com.ing.hubs.store.domain.repository.ProductRepository;
+import com.ing.hubs.store.domain.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureRestTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@AutoConfigureRestTestClient
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReservationControllerIntegrationTests {
+
+    @Autowired
+    private RestTestClient notAuthenticatedClient;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private RestTestClient adminClient;
+    private RestTestClient userClient;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        productRepository.deleteAll();
+        adminClient = withBasicAuth(notAuthenticatedClient, "admin", "admin");
+        userClient = withBasicAuth(notAuthenticatedClient, "user", "user");
+    }
+
+    private static RestTestClient withBasicAuth(RestTestClient base, String username, String password) {
+        String token = Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        return base.mutate()
+                .defaultHeaders(headers -> headers.set(HttpHeaders.AUTHORIZATION, "Basic " + token))
+                .build();
+    }
+
+    @Test
+    void givenStock_whenReserveAndConfirm_thenStockStaysTaken() {
+        // given
+        ProductResponse milk = createProduct("Milk");
+        ProductResponse bread = createProduct("Bread");
+
+        // when
+        ReservationResponse reservation = reserve(userClient, List.of(
+                new ReservationLineRequest(bread.id(), 3),
+                new ReservationLineRequest(milk.id(), 2)));
+
+        // then
+        assertThat(reservation.status()).isEqualTo(ReservationStatus.PENDING);
+        assertThat(reservation.lines()).extracting(ReservationResponse.Line::productId)
+                .containsExactly(milk.id(), bread.id());
+        userClient.post()
+                .uri("/reservations/{id}/confirm", reservation.id())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ReservationResponse.class)
+                .value(confirmed -> assertThat(confirmed.status()).isEqualTo(ReservationStatus.CONFIRMED));
+        assertThat(quantityOf(milk)).isEqualTo(8);
+        assertThat(quantityOf(bread)).isEqualTo(7);
+    }
+
+    @Test
+    void givenPendingReservation_whenCancel_thenStockIsReturned() {
+        // given
+        ProductResponse milk = createProduct("Milk");
+        ReservationResponse reservation = reserve(userClient, List.of(new ReservationLineRequest(milk.id(), 4)));
+
+        // when / then
+        userClient.post()
+                .uri("/reservations/{id}/cancel", reservation.id())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ReservationResponse.class)
+                .value(cancelled -> assertThat(cancelled.status()).isEqualTo(ReservationStatus.CANCELLED));
+        assertThat(quantityOf(milk)).isEqualTo(10);
+    }
+
+    @Test
+    void givenInsufficientStock_whenReserve_thenReturnConflict() {
+        // given
+        ProductResponse milk = createProduct("Milk");
+
+        // when / then
+        userClient.post()
+                .uri("/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new CreateReservationRequest(List.of(new ReservationLineRequest(milk.id(), 11))))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void givenOtherOwner_whenConfirm_thenReturnNotFound() {
+        // given
+        ProductResponse milk = createProduct("Milk");
+        ReservationResponse reservation = reserve(userClient, List.of(new ReservationLineRequest(milk.id(), 1)));
+
+        // when / then
+        adminClient.post()
+                .uri("/reservations/{id}/confirm", reservation.id())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private ProductResponse createProduct(String name) {
+        return adminClient.post()
+                .uri("/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ProductRequestMother.aCreateProductRequest(name))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(ProductResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private static ReservationResponse reserve(RestTestClient client, List<ReservationLineRequest> lines) {
+        return client.post()
+                .uri("/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new CreateReservationRequest(lines))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(ReservationResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private int quantityOf(ProductResponse product) {
+        return productRepository.findById(product.id()).orElseThrow().getQuantity();
+    }
+}
@@ -0,0 +1,82 @@
+package com.ing.hubs.store.domain.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceBlockUnitTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    @Test
+    void append_whenTimestampGoesBackwards_clampsToPreviousTimestamp() {
+        // given
+        final PriceBlock block = new PriceBlock(NOW.toEpochMilli(), 5.0);
+
+        // when
+        block.append(NOW.minusSeconds(5), 6.0);
+
+        // then
+        assertThat(decodeAll(block)).containsExactly(new PricePoint(NOW, 5.0), new PricePoint(NOW, 6.0));
+    }
+
+    @Test
+    void next_whenTimestampGoesBackwards_startsAtLastTimestamp() {
+        // given
+        final PriceBlock full = fill(new PriceBlock(NOW.toEpochMilli(), 5.0));
+
+        // when
+        final PriceBlock next = full.next(NOW.minusSeconds(5), 6.0);
+
+        // then
+        assertThat(next.firstMillis()).isEqualTo(full.lastMillis());
+        assertThat(decodeAll(next)).containsExactly(new PricePoint(Instant.ofEpochMilli(full.lastMillis()), 6.0));
+    }
+
+    @Test
+    void restore_whenStoredValuesRoundTrip_decodesSamePointsAndKeepsAppending() {
+        // given
+        final PriceBlock block = new PriceBlock(NOW.toEpochMilli(), 5.0);
+        block.append(NOW.plusSeconds(60), 5.0);
+        block.append(NOW.plusSeconds(120), 7.25);
+
+        // when
+        final PriceBlock restored = PriceBlock.restore(
+                block.firstMillis(), block.firstBits(), block.lastMillis(), block.lastBits(), block.count(), block.data());
+        restored.append(NOW.plusSeconds(180), 7.5);
+
+        // then
+        assertThat(decodeAll(restored)).containsExactly(
+                new PricePoint(NOW, 5.0),
+                new PricePoint(NOW.plusSeconds(60), 5.0),
+                new PricePoint(NOW.plusSeconds(120), 7.25),
+                new PricePoint(NOW.plusSeconds(180), 7.5));
+    }
+
+    @Test
+    void append_whenPriceUnchanged_costsTwoBytesPerPoint() {
+        // given / when
+        final PriceBlock block = fill(new PriceBlock(NOW.toEpochMilli(), 5.0));
+
+        // then
+        assertThat(block.isFull()).isTrue();
+        assertThat(block.data()).hasSize((PriceBlock.CAPACITY - 1) * 2);
+    }
+
+    private static PriceBlock fill(final PriceBlock block) {
+        for (int i = 1; !block.isFull(); i++) {
+            block.append(NOW.plusMillis(100L * i), 5.0);
+        }
+        return block;
+    }
+
+    private static List<PricePoint> decodeAll(final PriceBlock block) {
+        final List<PricePoint> points = new ArrayList<>();
+        block.decode(Long.MIN_VALUE, Long.MAX_VALUE, points);
+        return points;
+    }
+}
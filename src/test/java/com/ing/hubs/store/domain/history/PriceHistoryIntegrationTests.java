@@ -0,0 +1,93 @@
+package com.ing.hubs.store.domain.history;
+
+import com.ing.hubs.store.domain.repository.PriceHistoryBlockRepository;
+import com.ing.hubs.store.domain.repository.ProductRepository;
+import com.ing.hubs.store.domain.repository.ReservationRepository;
+import com.ing.hubs.store.domain.utils.ProductMother;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PriceHistoryIntegrationTests {
+
+    @Autowired
+    private PriceHistory priceHistory;
+    @Autowired
+    private PriceHistoryBlockRepository blockRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        productRepository.deleteAll();
+        blockRepository.deleteAll();
+    }
+
+    @Test
+    void givenMoreThanOneBlockOfPoints_whenRecorded_thenAnotherInstanceReadsThemBack() {
+        // given
+        final Long id = productRepository.save(ProductMother.aProductEntity("Milk", 10).withId(null)).getId();
+        final Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        final List<PricePoint> recorded = new ArrayList<>();
+        for (int i = 0; i < PriceBlock.CAPACITY + 10; i++) {
+            final PricePoint point = new PricePoint(start.plusSeconds(60L * i), 5.0 + (i % 7) * 0.25);
+            priceHistory.record(id, point.at(), point.price());
+            recorded.add(point);
+        }
+
+        // when
+        final PriceHistory restarted = new PriceHistory(blockRepository, productRepository);
+
+        // then
+        assertThat(blockRepository.findOverlapping(id, 0, Long.MAX_VALUE)).hasSize(2);
+        assertThat(restarted.range(id, Instant.EPOCH, start.plusSeconds(86_400))).containsExactlyElementsOf(recorded);
+        assertThat(restarted.range(id, recorded.get(100).at(), recorded.get(130).at()))
+                .containsExactlyElementsOf(recorded.subList(100, 131));
+    }
+
+    @Test
+    void givenFullBlock_whenRecordedWithEarlierTimestamp_thenNextBlockStartsAtLastTimestamp() {
+        // given
+        final Long id = productRepository.save(ProductMother.aProductEntity("Milk", 10).withId(null)).getId();
+        final Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        for (int i = 0; i < PriceBlock.CAPACITY; i++) {
+            priceHistory.record(id, start.plusSeconds(i), 5.0);
+        }
+        final Instant last = start.plusSeconds(PriceBlock.CAPACITY - 1);
+
+        // when
+        priceHistory.record(id, start, 6.0);
+
+        // then
+        assertThat(blockRepository.findOverlapping(id, 0, Long.MAX_VALUE)).hasSize(2);
+        assertThat(priceHistory.range(id, last, last)).containsExactly(
+                new PricePoint(last, 5.0),
+                new PricePoint(last, 6.0));
+    }
+
+    @Test
+    void givenDeletedProduct_whenRecorded_thenNothingIsStored() {
+        // given
+        final Long id = productRepository.save(ProductMother.aProductEntity("Milk", 10).withId(null)).getId();
+        productRepository.deleteById(id);
+
+        // when
+        priceHistory.record(id, Instant.now(), 6.0);
+
+        // then
+        assertThat(blockRepository.findOverlapping(id, 0, Long.MAX_VALUE)).isEmpty();
+    }
+}
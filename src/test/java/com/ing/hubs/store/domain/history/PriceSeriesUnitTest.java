@@ -0,0 +1,67 @@
+package com.ing.hubs.store.domain.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceSeriesUnitTest {
+
+    @Test
+    void range_whenManyBlocks_returnsSamePointsAsLinearScan() {
+        // given
+        final List<PriceBlock> blocks = new ArrayList<>();
+        final List<PricePoint> appended = new ArrayList<>();
+        final Random random = new Random(42);
+        long millis = 1_700_000_000_000L;
+        double price = 10.0;
+        for (int i = 0; i < PriceBlock.CAPACITY * 5 + 17; i++) {
+            millis += random.nextInt(3) == 0 ? 0 : random.nextInt(86_400_000);
+            price = random.nextInt(4) == 0 ? price : Math.round(random.nextDouble(1_000) * 100) / 100.0;
+            final Instant at = Instant.ofEpochMilli(millis);
+            append(blocks, at, price);
+            appended.add(new PricePoint(at, price));
+        }
+        final PriceSeries series = PriceSeries.of(blocks);
+        final Instant from = appended.get(200).at();
+        final Instant to = appended.get(500).at();
+
+        // when
+        final List<PricePoint> range = series.range(from, to);
+
+        // then
+        assertThat(blocks).hasSize(6);
+        assertThat(range).containsExactlyElementsOf(appended.stream()
+                .filter(point -> !point.at().isBefore(from) && !point.at().isAfter(to))
+                .toList());
+        assertThat(series.range(Instant.EPOCH, Instant.ofEpochMilli(millis))).containsExactlyElementsOf(appended);
+    }
+
+    @Test
+    void range_whenOutsideRecordedPoints_returnsEmpty() {
+        // given
+        final Instant now = Instant.parse("2026-01-01T10:00:00Z");
+        final PriceSeries series = PriceSeries.of(List.of(new PriceBlock(now.toEpochMilli(), 5.0)));
+
+        // when / then
+        assertThat(series.range(now.plusSeconds(1), now.plusSeconds(10))).isEmpty();
+        assertThat(series.range(Instant.EPOCH, now.minusSeconds(1))).isEmpty();
+    }
+
+    /**
+     * Appends the way {@link PriceHistory} does: to the last block, or to a new one once it is full.
+     */
+    private static void append(final List<PriceBlock> blocks, final Instant at, final double price) {
+        if (blocks.isEmpty()) {
+            blocks.add(new PriceBlock(at.toEpochMilli(), price));
+        } else if (blocks.getLast().isFull()) {
+            blocks.add(blocks.getLast().next(at, price));
+        } else {
+            blocks.getLast().append(at, price);
+        }
+    }
+}
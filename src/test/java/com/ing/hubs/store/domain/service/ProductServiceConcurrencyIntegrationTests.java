@@ -0,0 +1,228 @@
+package com.ing.hubs.store.domain.service;
+
+import com.ing.hubs.store.domain.entity.Product;
+import com.ing.hubs.store.domain.entity.ReservationLine;
+import com.ing.hubs.store.domain.exception.Conflict;
+import com.ing.hubs.store.domain.exception.NotFound;
+import com.ing.hubs.store.domain.repository.ProductRepository;
+import com.ing.hubs.store.domain.repository.ReservationRepository;
+import com.ing.hubs.store.domain.utils.ProductMother;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers {@link ProductService} mutations from many threads against the embedded database and
+ * checks the catalog invariants afterwards. Each scenario logs its throughput and conflict rate.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductServiceConcurrencyIntegrationTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void givenSameNames_whenCreateConcurrently_thenEachNameIsCreatedOnce() throws Exception {
+        // given
+        final int names = 50;
+        final AtomicInteger created = new AtomicInteger();
+
+        // when
+        final Stats stats = hammer("create", 100, (thread, i) -> {
+            productService.createProduct(ProductMother.aProductEntity("Product " + (i % names), 10).withId(null));
+            created.incrementAndGet();
+        });
+
+        // then
+        stats.assertNoUnexpectedFailures();
+        assertThat(created.get()).isEqualTo(names);
+        assertThat(stats.conflicts()).isEqualTo(THREADS * 100 - names);
+        final Map<String, Long> countsByName = productRepository.findAll()
+                .stream()
+                .collect(Collectors.groupingBy(Product::getName, Collectors.counting()));
+        assertThat(countsByName).hasSize(names).allSatisfy((name, count) -> assertThat(count).isEqualTo(1));
+    }
+
+    @Test
+    void givenReservationsAndPriceUpdates_whenRunConcurrently_thenNoStockDecrementIsLost() throws Exception {
+        // given
+        final int stock = 10_000;
+        final Long id = productRepository.save(ProductMother.aProductEntity("Milk", stock)).getId();
+        final AtomicInteger reserved = new AtomicInteger();
+        final AtomicInteger retries = new AtomicInteger();
+
+        // when
+        final Stats stats = hammer("reserve+price", 100, (thread, i) -> {
+            if (thread % 2 == 0) {
+                reservationService.reserve("user", List.of(new ReservationLine(id, 1)));
+                reserved.incrementAndGet();
+            } else {
+                withRetries(retries, () -> productService.updateProductPrice(id, (double) i));
+            }
+        });
+
+        // then
+        log.info("reserve+price: {} price update retries", retries.get());
+        stats.assertNoUnexpectedFailures();
+        assertThat(stats.conflicts()).isZero();
+        assertThat(productRepository.findById(id).orElseThrow().getQuantity()).isEqualTo(stock - reserved.get());
+    }
+
+    @Test
+    void givenQuantityUpdatesAndReservations_whenRunConcurrently_thenStockNeverGoesNegative() throws Exception {
+        // given
+        final Long id = productRepository.save(ProductMother.aProductEntity("Milk", 5)).getId();
+        final AtomicInteger retries = new AtomicInteger();
+
+        // when
+        final Stats stats = hammer("reserve+quantity", 100, (thread, i) -> {
+            if (thread % 4 == 0) {
+                withRetries(retries, () -> productService.updateProductQuantity(id, ThreadLocalRandom.current().nextInt(5)));
+            } else {
+                reservationService.reserve("user", List.of(new ReservationLine(id, 1 + ThreadLocalRandom.current().nextInt(3))));
+            }
+        });
+
+        // then
+        log.info("reserve+quantity: {} quantity update retries", retries.get());
+        stats.assertNoUnexpectedFailures();
+        assertThat(productRepository.findById(id).orElseThrow().getQuantity()).isNotNegative();
+    }
+
+    @Test
+    void givenMixedMutations_whenRunConcurrently_thenOnlyDomainErrorsAndInvariantsHold() throws Exception {
+        // given
+        final List<String> names = List.of("Milk", "Bread", "Eggs", "Butter");
+        final Function<String, Long> idOf = name -> productRepository.findByName(name).map(Product::getId).orElse(-1L);
+
+        // when
+        final Stats stats = hammer("mixed", 200, (thread, i) -> {
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final String name = names.get(random.nextInt(names.size()));
+            switch (random.nextInt(5)) {
+                case 0 -> productService.createProduct(ProductMother.aProductEntity(name, 10).withId(null));
+                case 1 -> productService.updateProductQuantity(idOf.apply(name), random.nextInt(20));
+                case 2 -> productService.updateProductPrice(idOf.apply(name), random.nextDouble(100));
+                case 3 -> productService.deleteProductById(idOf.apply(name));
+                default -> productService.deleteProductByName(name);
+            }
+        });
+
+        // then
+        stats.assertNoUnexpectedFailures();
+        final List<Product> products = productRepository.findAll();
+        assertThat(products).extracting(Product::getName).doesNotHaveDuplicates();
+        assertThat(products).allSatisfy(product -> assertThat(product.getQuantity()).isNotNegative());
+    }
+
+    private static void withRetries(final AtomicInteger retries, final Runnable operation) {
+        while (true) {
+            try {
+                operation.run();
+                return;
+            } catch (Conflict ex) {
+                retries.incrementAndGet();
+            }
+        }
+    }
+
+    private Stats hammer(final String scenario, final int operationsPerThread, final Operation operation) throws Exception {
+        final AtomicInteger succeeded = new AtomicInteger();
+        final AtomicInteger conflicts = new AtomicInteger();
+        final AtomicInteger notFound = new AtomicInteger();
+        final List<Throwable> unexpected = new ArrayList<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> workers = new ArrayList<>();
+
+        final long begin = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        try {
+                            operation.run(thread, i);
+                            succeeded.incrementAndGet();
+                        } catch (Conflict ex) {
+                            conflicts.incrementAndGet();
+                        } catch (NotFound ex) {
+                            notFound.incrementAndGet();
+                        } catch (RuntimeException ex) {
+                            synchronized (unexpected) {
+                                unexpected.add(ex);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        final double seconds = (System.nanoTime() - begin) / 1e9;
+        final int total = THREADS * operationsPerThread;
+
+        log.info("{}: {} ops in {} s ({} ops/s), {} ok, {} conflicts ({}%), {} not found, {} unexpected",
+                scenario, total, String.format("%.2f", seconds), String.format("%.0f", total / seconds),
+                succeeded.get(), conflicts.get(), String.format("%.1f", 100.0 * conflicts.get() / total),
+                notFound.get(), unexpected.size());
+        return new Stats(scenario, succeeded.get(), conflicts.get(), notFound.get(), unexpected);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run(int thread, int iteration);
+    }
+
+    private record Stats(String scenario, int succeeded, int conflicts, int notFound, List<Throwable> unexpected) {
+
+        /**
+         * Fails with the first unexpected throwables attached, so their stack traces end up in the test report.
+         */
+        void assertNoUnexpectedFailures() {
+            if (unexpected.isEmpty()) {
+                return;
+            }
+            final AssertionError failure = new AssertionError(
+                    scenario + ": " + unexpected.size() + " unexpected failures, first: " + unexpected.getFirst());
+            unexpected.stream().limit(10).forEach(failure::addSuppressed);
+            throw failure;
+        }
+    }
+}
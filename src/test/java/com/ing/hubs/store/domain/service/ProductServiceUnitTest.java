@@ -1,8 +1,10 @@
 package com.ing.hubs.store.domain.service;
 
 import com.ing.hubs.store.domain.entity.Product;
+import com.ing.hubs.store.domain.exception.BadRequest;
 import com.ing.hubs.store.domain.exception.Conflict;
 import com.ing.hubs.store.domain.exception.NotFound;
+import com.ing.hubs.store.domain.history.PriceHistory;
 import com.ing.hubs.store.domain.repository.ProductRepository;
 import com.ing.hubs.store.domain.utils.ProductMother;
 import org.junit.jupiter.api.Test;
@@ -11,14 +13,23 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +37,10 @@ public class ProductServiceUnitTest {
 
     @Mock
     private ProductRepository repository;
+    @Mock
+    private ApplicationEventPublisher events;
+    @Mock
+    private PriceHistory priceHistory;
     @InjectMocks
     private ProductService service;
 
@@ -113,6 +128,7 @@ public class ProductServiceUnitTest {
         then(repository).should().findById(id);
         then(repository).should().save(captor.capture());
         assertThat(captor.getValue().getPrice()).isEqualTo(12.5);
+        then(repository).should().flush();
         then(repository).shouldHaveNoMoreInteractions();
     }
 
@@ -133,6 +149,7 @@ public class ProductServiceUnitTest {
 
         then(repository).should().findById(id);
         then(repository).should().save(any(Product.class));
+        then(repository).should().flush();
         then(repository).shouldHaveNoMoreInteractions();
     }
 
@@ -140,13 +157,13 @@ public class ProductServiceUnitTest {
     void deleteProductById_whenDoesNotExist_doesNothing() {
         // given
         final Long id = 1L;
-        given(repository.existsById(id)).willReturn(false);
+        given(repository.findById(id)).willReturn(Optional.empty());
 
         // when
         service.deleteProductById(id);
 
         // then
-        then(repository).should().existsById(id);
+        then(repository).should().findById(id);
         then(repository).shouldHaveNoMoreInteractions();
     }
 
@@ -154,14 +171,77 @@ public class ProductServiceUnitTest {
     void deleteProductById_whenExists_deletes() {
         // given
         final Long id = 1L;
-        given(repository.existsById(id)).willReturn(true);
+        final Product existing = ProductMother.aProductEntity(id);
+        given(repository.findById(id)).willReturn(Optional.of(existing));
 
         // when
         service.deleteProductById(id);
 
         // then
-        then(repository).should().existsById(id);
-        then(repository).should().deleteById(id);
+        then(repository).should().findById(id);
+        then(repository).should().delete(existing);
+        then(priceHistory).should().forget(id);
+        then(repository).should().flush();
         then(repository).shouldHaveNoMoreInteractions();
     }
+
+    @Test
+    void updateProductPrice_whenModifiedConcurrently_throwsConflict() {
+        // given
+        final Long id = 1L;
+        given(repository.findById(id)).willReturn(Optional.of(ProductMother.aProductEntity(id)));
+        given(repository.save(any(Product.class))).willAnswer(inv -> inv.getArgument(0));
+        willThrow(new OptimisticLockingFailureException("stale")).given(repository).flush();
+
+        // when / then
+        assertThatThrownBy(() -> service.updateProductPrice(id, 12.5))
+                .isInstanceOf(Conflict.class)
+                .hasMessageContaining("Product was modified concurrently: 1");
+    }
+
+    @Test
+    void createProduct_whenNameTakenConcurrently_throwsConflict() {
+        // given
+        final Product toCreate = ProductMother.aProductEntity();
+        given(repository.existsByName("Milk")).willReturn(false);
+        given(repository.save(toCreate)).willThrow(new DataIntegrityViolationException("uk_product_name"));
+
+        // when / then
+        assertThatThrownBy(() -> service.createProduct(toCreate))
+                .isInstanceOf(Conflict.class)
+                .hasMessageContaining("Product already exists with name: Milk");
+    }
+
+    @Test
+    void getProductsByIds_whenManyIds_queriesInChunksAndKeepsRequestedOrder() {
+        // given
+        final List<Long> ids = LongStream.rangeClosed(1, ProductService.LOOKUP_CHUNK_SIZE + 1)
+                .boxed()
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        given(repository.findAllById(any())).willAnswer(inv -> {
+            final List<Long> chunk = inv.getArgument(0);
+            return chunk.stream()
+                    .filter(id -> id % 2 == 0)
+                    .map(ProductMother::aProductEntity)
+                    .toList();
+        });
+
+        // when
+        final Map<Long, Product> result = service.getProductsByIds(ids);
+
+        // then
+        assertThat(result.keySet()).containsExactlyElementsOf(ids.stream().filter(id -> id % 2 == 0).toList());
+        then(repository).should(times(2)).findAllById(any());
+        then(repository).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    void getProductsByIds_whenNoIds_throwsBadRequest() {
+        // given / when / then
+        assertThatThrownBy(() -> service.getProductsByIds(List.of()))
+                .isInstanceOf(BadRequest.class);
+
+        then(repository).shouldHaveNoInteractions();
+    }
 }
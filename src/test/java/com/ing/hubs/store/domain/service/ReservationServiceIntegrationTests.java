@@ -0,0 +1,156 @@
+package com.ing.hubs.store.domain.service;
+
+import com.ing.hubs.store.domain.entity.Product;
+import com.ing.hubs.store.domain.entity.Reservation;
+import com.ing.hubs.store.domain.entity.ReservationLine;
+import com.ing.hubs.store.domain.entity.ReservationStatus;
+import com.ing.hubs.store.domain.exception.Conflict;
+import com.ing.hubs.store.domain.repository.ProductRepository;
+import com.ing.hubs.store.domain.repository.ReservationRepository;
+import com.ing.hubs.store.domain.utils.ProductMother;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+class ReservationServiceIntegrationTests {
+
+    private static final int STOCK = 100;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 100;
+
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void givenInsufficientStockOnOneLine_whenReserve_thenNoStockIsTaken() {
+        // given
+        Product milk = productRepository.save(ProductMother.aProductEntity("Milk", 10));
+        Product bread = productRepository.save(ProductMother.aProductEntity("Bread", 1));
+
+        // when / then
+        assertThatThrownBy(() -> reservationService.reserve("user", List.of(
+                new ReservationLine(milk.getId(), 5),
+                new ReservationLine(bread.getId(), 2))))
+                .isInstanceOf(Conflict.class);
+        assertThat(quantityOf(milk)).isEqualTo(10);
+        assertThat(quantityOf(bread)).isEqualTo(1);
+    }
+
+    @Test
+    void givenPendingReservation_whenExpired_thenStockIsReturnedAndConfirmFails() {
+        // given
+        Product milk = productRepository.save(ProductMother.aProductEntity("Milk", 10));
+        Reservation reservation = reservationService.reserve("user", List.of(new ReservationLine(milk.getId(), 4)));
+        assertThat(quantityOf(milk)).isEqualTo(6);
+
+        // when
+        boolean expired = reservationService.expire(reservation.getId(), reservation.getExpiresAt().plusSeconds(1));
+
+        // then
+        assertThat(expired).isTrue();
+        assertThat(quantityOf(milk)).isEqualTo(10);
+        assertThat(reservationService.getReservation(reservation.getId(), "user").getStatus())
+                .isEqualTo(ReservationStatus.EXPIRED);
+        assertThatThrownBy(() -> reservationService.confirm(reservation.getId(), "user"))
+                .isInstanceOf(Conflict.class);
+    }
+
+    @Test
+    void givenHighContention_whenReserveAndCancelConcurrently_thenNeverOversell() throws Exception {
+        // given
+        final List<Long> productIds = List.of(
+                productRepository.save(ProductMother.aProductEntity("Milk", STOCK)).getId(),
+                productRepository.save(ProductMother.aProductEntity("Bread", STOCK)).getId(),
+                productRepository.save(ProductMother.aProductEntity("Eggs", STOCK)).getId()
+        );
+        final Map<Long, AtomicInteger> held = new ConcurrentHashMap<>();
+        productIds.forEach(id -> held.put(id, new AtomicInteger()));
+        final AtomicInteger reserved = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> workers = new ArrayList<>();
+
+        // when
+        final long begin = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    final ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        final List<Long> shuffled = new ArrayList<>(productIds);
+                        Collections.shuffle(shuffled, random);
+                        final List<ReservationLine> lines = shuffled.subList(0, 2 + random.nextInt(2))
+                                .stream()
+                                .map(id -> new ReservationLine(id, 1 + random.nextInt(3)))
+                                .toList();
+                        try {
+                            final Reservation reservation = reservationService.reserve("user", lines);
+                            reserved.incrementAndGet();
+                            if (random.nextInt(10) < 3) {
+                                reservationService.cancel(reservation.getId(), "user");
+                            } else {
+                                lines.forEach(line -> held.get(line.productId()).addAndGet(line.quantity()));
+                            }
+                        } catch (Conflict ex) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        final double seconds = (System.nanoTime() - begin) / 1e9;
+
+        // then
+        log.info("Reservations: {} reserved, {} rejected in {} s ({} attempts/s)",
+                reserved.get(), rejected.get(), String.format("%.2f", seconds),
+                String.format("%.0f", THREADS * ATTEMPTS_PER_THREAD / seconds));
+        assertThat(reserved.get() + rejected.get()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD);
+        assertThat(rejected.get()).isPositive();
+        for (Long id : productIds) {
+            final int quantity = productRepository.findById(id).orElseThrow().getQuantity();
+            assertThat(quantity).isNotNegative();
+            assertThat(quantity).isEqualTo(STOCK - held.get(id).get());
+        }
+    }
+
+    private int quantityOf(final Product product) {
+        return productRepository.findById(product.getId()).orElseThrow().getQuantity();
+    }
+}
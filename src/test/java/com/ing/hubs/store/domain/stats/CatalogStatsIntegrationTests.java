@@ -0,0 +1,73 @@
+package com.ing.hubs.store.domain.stats;
+
+import com.ing.hubs.store.domain.entity.Product;
+import com.ing.hubs.store.domain.entity.ReservationLine;
+import com.ing.hubs.store.domain.repository.ProductRepository;
+import com.ing.hubs.store.domain.repository.ReservationRepository;
+import com.ing.hubs.store.domain.service.ProductService;
+import com.ing.hubs.store.domain.service.ReservationService;
+import com.ing.hubs.store.domain.utils.ProductMother;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogStatsIntegrationTests {
+
+    @Autowired
+    private CatalogStats catalogStats;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        productRepository.deleteAll();
+        catalogStats.load();
+    }
+
+    @Test
+    void givenMutations_whenApplied_thenStatsMatchSqlAggregateWithoutCorrection() {
+        // given
+        final Product milk = productService.createProduct(ProductMother.aProductEntity("Milk", 10).withPrice(2.0));
+        final Product bread = productService.createProduct(ProductMother.aProductEntity("Bread", 3).withPrice(1.5));
+        final Product eggs = productService.createProduct(ProductMother.aProductEntity("Eggs", 20).withPrice(0.25));
+
+        // when
+        productService.updateProductQuantity(bread.getId(), 0);
+        productService.updateProductPrice(milk.getId(), 2.5);
+        reservationService.reserve("user", List.of(new ReservationLine(eggs.getId(), 16)));
+        productService.deleteProductByName("Bread");
+
+        // then
+        assertThat(catalogStats.current()).isEqualTo(new CatalogTotals(2, 14, 26.0, 0, 1));
+        assertThat(catalogStats.checkConsistency()).isFalse();
+    }
+
+    @Test
+    void givenChangeThatBypassedService_whenCheckConsistency_thenCorrectsDrift() {
+        // given
+        productRepository.save(ProductMother.aProductEntity("Milk", 4).withPrice(2.0));
+        assertThat(catalogStats.current()).isEqualTo(CatalogTotals.EMPTY);
+
+        // when
+        final boolean corrected = catalogStats.checkConsistency();
+
+        // then
+        assertThat(corrected).isTrue();
+        assertThat(catalogStats.current()).isEqualTo(new CatalogTotals(1, 4, 8.0, 0, 1));
+    }
+}
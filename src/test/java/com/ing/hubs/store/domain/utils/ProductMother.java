@@ -27,4 +27,8 @@ public final class ProductMother {
     public static Product aProductEntity(final Long id, final String name) {
         return aProduct().id(id).name(name).build();
     }
+
+    public static Product aProductEntity(final String name, final int quantity) {
+        return aProduct().name(name).quantity(quantity).build();
+    }
 }
@@ -0,0 +1,68 @@
+package com.ing.hubs.store.infra.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitUnitTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    private static AdaptiveConcurrencyLimit aLimit(final int initialLimit) {
+        return new AdaptiveConcurrencyLimit(
+                new ConcurrencyLimitProperties.Limit(initialLimit, 2, 10, Duration.ofMillis(100), 0.5));
+    }
+
+    @Test
+    void tryAcquire_whenLimitReached_rejectsAndCounts() {
+        // given
+        final AdaptiveConcurrencyLimit limit = aLimit(2);
+        limit.tryAcquire();
+        limit.tryAcquire();
+
+        // when
+        final boolean acquired = limit.tryAcquire();
+
+        // then
+        assertThat(acquired).isFalse();
+        assertThat(limit.inFlight()).isEqualTo(2);
+        assertThat(limit.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void release_whenFastAndSaturated_increasesLimit() {
+        // given
+        final AdaptiveConcurrencyLimit limit = aLimit(2);
+        limit.tryAcquire();
+        limit.tryAcquire();
+
+        // when
+        limit.release(FAST, false);
+
+        // then
+        assertThat(limit.limit()).isEqualTo(3);
+        assertThat(limit.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void release_whenSlow_decreasesLimitDownToMinimum() {
+        // given
+        final AdaptiveConcurrencyLimit limit = aLimit(8);
+
+        // when / then
+        limit.tryAcquire();
+        limit.release(SLOW, false);
+        assertThat(limit.limit()).isEqualTo(4);
+
+        limit.tryAcquire();
+        limit.release(FAST, true);
+        assertThat(limit.limit()).isEqualTo(2);
+
+        limit.tryAcquire();
+        limit.release(SLOW, false);
+        assertThat(limit.limit()).isEqualTo(2);
+    }
+}
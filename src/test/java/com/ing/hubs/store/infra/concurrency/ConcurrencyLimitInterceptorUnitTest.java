@@ -0,0 +1,34 @@
+package com.ing.hubs.store.infra.concurrency;
+
+import com.ing.hubs.store.domain.exception.ServiceUnavailable;
+import com.ing.hubs.store.infra.web.EndpointClass;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitInterceptorUnitTest {
+
+    @Test
+    void preHandle_whenLimitReached_rejectsWithRetryAfter() {
+        // given
+        final ConcurrencyLimitProperties.Limit limit =
+                new ConcurrencyLimitProperties.Limit(1, 1, 1, Duration.ofMillis(100), 0.5);
+        final ConcurrencyLimitProperties properties =
+                new ConcurrencyLimitProperties(true, Duration.ofSeconds(2), limit, limit);
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(properties);
+        final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(limiter, properties);
+        limiter.tryAcquire(EndpointClass.READ);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when / then
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest("GET", "/products"), response, null))
+                .isInstanceOf(ServiceUnavailable.class);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+    }
+}
@@ -0,0 +1,117 @@
+package com.ing.hubs.store.infra.concurrency;
+
+import com.ing.hubs.store.domain.exception.NotFound;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightUnitTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    void load_whenCalledConcurrently_runsLoaderOnce() throws Exception {
+        // given
+        final SingleFlight<Long, String> flight = new SingleFlight<>(Duration.ofSeconds(5));
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger loaderCalls = new AtomicInteger();
+
+        // when
+        final List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> flight.load(1L, () -> {
+                    loaderCalls.incrementAndGet();
+                    await(release);
+                    return "Milk";
+                })));
+            }
+            waitUntil(() -> flight.loads() == 1);
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("Milk");
+            }
+        }
+
+        // then
+        assertThat(loaderCalls).hasValue(1);
+        assertThat(flight.loads() + flight.coalesced()).isEqualTo(CALLERS);
+    }
+
+    @Test
+    void load_whenLoaderFails_sharesFailureWithWaiters() throws Exception {
+        // given
+        final SingleFlight<Long, String> flight = new SingleFlight<>(Duration.ofSeconds(5));
+        final CountDownLatch release = new CountDownLatch(1);
+        final NotFound notFound = NotFound.stackless("Product not found with id: 1");
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            final Future<String> leader = executor.submit(() -> flight.load(1L, () -> {
+                await(release);
+                throw notFound;
+            }));
+            waitUntil(() -> flight.loads() == 1);
+
+            // when
+            final Future<String> follower = executor.submit(() -> flight.load(1L, () -> "unexpected"));
+            Thread.sleep(100);
+            release.countDown();
+
+            // then
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCause(notFound);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCause(notFound);
+        }
+    }
+
+    @Test
+    void load_whenSharedLoadExceedsMaxWait_loadsIndependently() throws Exception {
+        // given
+        final SingleFlight<Long, String> flight = new SingleFlight<>(Duration.ofMillis(50));
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            final Future<String> leader = executor.submit(() -> flight.load(1L, () -> {
+                await(release);
+                return "slow";
+            }));
+            waitUntil(() -> flight.loads() == 1);
+
+            // when
+            final String result = flight.load(1L, () -> "fast");
+
+            // then
+            assertThat(result).isEqualTo("fast");
+            assertThat(flight.timeouts()).isEqualTo(1);
+            release.countDown();
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.ing.hubs.store.infra.datasource;
+
+import com.ing.hubs.store.application.cache.ProductListingCache;
+import com.ing.hubs.store.application.dto.ProductResponse;
+import com.ing.hubs.store.domain.repository.ProductRepository;
+import com.ing.hubs.store.domain.repository.ReservationRepository;
+import com.ing.hubs.store.domain.service.ProductService;
+import com.ing.hubs.store.domain.stats.CatalogStats;
+import com.ing.hubs.store.domain.utils.ProductMother;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Points the replica pool at a separate, empty database, so the tests control what the replica
+ * reports as its heartbeat and can tell from the data which database a read went to.
+ */
+@SpringBootTest(properties = "store.datasource.replica.url=" + LaggingReplicaIntegrationTests.REPLICA_URL)
+@ActiveProfiles("test")
+class LaggingReplicaIntegrationTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:lagging-replica;DB_CLOSE_DELAY=-1";
+
+    private final JdbcTemplate replicaDatabase = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private ProductListingCache listingCache;
+    @Autowired
+    private CatalogStats catalogStats;
+    @Autowired
+    private JsonMapper jsonMapper;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primary;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        productRepository.deleteAll();
+        replicaDatabase.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at TIMESTAMP NOT NULL)");
+        replicaDatabase.update("DELETE FROM replica_heartbeat");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenReplicaHeartbeatBehind_whenCheckLag_thenReadsFallBackToPrimary() {
+        // given
+        replicaHeartbeat(Instant.now().minus(Duration.ofMinutes(1)));
+
+        // when
+        lagMonitor.checkLag();
+
+        // then
+        assertThat(lagMonitor.isReplicaUsable()).isFalse();
+        readOnly().executeWithoutResult(status -> {
+            productRepository.count();
+            assertThat(primary.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void givenReplicaWithoutHeartbeat_whenCheckLag_thenReplicaIsNotUsed() {
+        // given
+        replicaDatabase.execute("DROP TABLE replica_heartbeat");
+
+        // when
+        lagMonitor.checkLag();
+
+        // then
+        assertThat(lagMonitor.isReplicaUsable()).isFalse();
+        assertThat(productService.getAllProducts()).isEmpty();
+    }
+
+    @Test
+    void givenReplicaBehindOnData_whenOtherPrincipalRebuildsSnapshots_thenTheyAreReadFromPrimary() {
+        // given
+        replicaHeartbeat(Instant.now().plus(Duration.ofHours(1)));
+        lagMonitor.checkLag();
+        assertThat(lagMonitor.isReplicaUsable()).isTrue();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("admin", "admin"));
+        productService.createProduct(ProductMother.aProductEntity("Milk", 10).withId(null));
+
+        // when
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "user"));
+        ProductResponse[] listing = jsonMapper.readValue(listingCache.get().json(), ProductResponse[].class);
+        boolean corrected = catalogStats.checkConsistency();
+
+        // then
+        assertThat(listing).extracting(ProductResponse::name).containsExactly("Milk");
+        assertThat(corrected).isFalse();
+        assertThat(catalogStats.current().skuCount()).isEqualTo(1);
+        assertThatThrownBy(() -> productService.getAllProducts())
+                .as("plain reads by the other principal go to the replica, which has no catalog")
+                .isInstanceOf(DataAccessException.class);
+    }
+
+    private void replicaHeartbeat(final Instant beatAt) {
+        replicaDatabase.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", Timestamp.from(beatAt));
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
@@ -0,0 +1,93 @@
+package com.ing.hubs.store.infra.datasource;
+
+import com.ing.hubs.store.domain.repository.ProductRepository;
+import com.ing.hubs.store.domain.service.ProductService;
+import com.ing.hubs.store.domain.utils.ProductMother;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReadReplicaRoutingIntegrationTests {
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primary;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        lagMonitor.checkLag();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenHealthyReplica_whenReadOnlyTransaction_thenUsesReplicaPool() {
+        // given
+        assertThat(lagMonitor.isReplicaUsable()).isTrue();
+
+        // when / then
+        readOnly().executeWithoutResult(status -> {
+            productRepository.count();
+            assertThat(replica.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+            assertThat(primary.getHikariPoolMXBean().getActiveConnections()).isZero();
+        });
+    }
+
+    @Test
+    void givenHealthyReplica_whenReadWriteTransaction_thenUsesPrimaryPool() {
+        // given / when / then
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            productRepository.count();
+            assertThat(primary.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+            assertThat(replica.getHikariPoolMXBean().getActiveConnections()).isZero();
+        });
+    }
+
+    @Test
+    void givenPrincipalJustWrote_whenReadOnlyTransaction_thenReadsFromPrimary() {
+        // given
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("admin", "admin"));
+        productService.createProduct(ProductMother.aProductEntity());
+
+        // when / then
+        readOnly().executeWithoutResult(status -> {
+            productRepository.count();
+            assertThat(primary.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+            assertThat(replica.getHikariPoolMXBean().getActiveConnections()).isZero();
+        });
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
@@ -0,0 +1,38 @@
+package com.ing.hubs.store.infra.datasource;
+
+import com.ing.hubs.store.domain.repository.ProductRepository;
+import com.ing.hubs.store.domain.service.ProductService;
+import com.ing.hubs.store.domain.utils.ProductMother;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "store.datasource.replica.url=jdbc:h2:tcp://localhost:1/unreachable")
+@ActiveProfiles("test")
+class UnreachableReplicaIntegrationTests {
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void givenUnreachableReplica_whenReadOnlyRead_thenServedFromPrimary() {
+        // given
+        productRepository.deleteAll();
+        productRepository.save(ProductMother.aProductEntity("Milk", 10).withId(null));
+
+        // when
+        lagMonitor.checkLag();
+
+        // then
+        assertThat(lagMonitor.isReplicaUsable()).isFalse();
+        assertThat(productService.getAllProducts()).hasSize(1);
+        assertThat(productService.getProductByName("Milk").getQuantity()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,208 @@
+package com.ing.hubs.store.infra.idempotency;
+
+import com.ing.hubs.store.application.dto.ProductResponse;
+import com.ing.hubs.store.application.utils.ProductRequestMother;
+import com.ing.hubs.store.domain.exception.Conflict;
+import com.ing.hubs.store.domain.repository.ProductRepository;
+import com.ing.hubs.store.domain.repository.ReservationRepository;
+import com.ing.hubs.store.domain.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureRestTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willThrow;
+
+@ActiveProfiles("test")
+@AutoConfigureRestTestClient
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class IdempotencyIntegrationTests {
+
+    @Autowired
+    private RestTestClient notAuthenticatedClient;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @MockitoSpyBean
+    private ProductService productService;
+
+    private RestTestClient adminClient;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        productRepository.deleteAll();
+        String token = Base64.getEncoder().encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8));
+        adminClient = notAuthenticatedClient.mutate()
+                .defaultHeaders(headers -> headers.set(HttpHeaders.AUTHORIZATION, "Basic " + token))
+                .build();
+    }
+
+    @Test
+    void givenRetriedCreate_whenSameKey_thenReplayFirstResponseInsteadOfConflict() {
+        // given
+        String key = UUID.randomUUID().toString();
+        ProductResponse first = create(key, "Milk")
+                .expectStatus().isCreated()
+                .expectBody(ProductResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        // when / then
+        create(key, "Milk")
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(IdempotencyFilter.REPLAYED_HEADER, "true")
+                .expectBody(ProductResponse.class)
+                .isEqualTo(first);
+        assertThat(productRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenUsedKey_whenDifferentRequest_thenReturnUnprocessableContent() {
+        // given
+        String key = UUID.randomUUID().toString();
+        create(key, "Milk").expectStatus().isCreated();
+
+        // when / then
+        create(key, "Bread").expectStatus().isEqualTo(422);
+        assertThat(productRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenConcurrentDuplicates_whenSameKey_thenRequestRunsOnce() throws Exception {
+        // given
+        String key = UUID.randomUUID().toString();
+        int duplicates = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(duplicates)) {
+            for (int i = 0; i < duplicates; i++) {
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return create(key, "Milk").returnResult(ProductResponse.class).getStatus().value();
+                }));
+            }
+            start.countDown();
+
+            // then
+            for (Future<Integer> status : statuses) {
+                assertThat(status.get()).isEqualTo(201);
+            }
+        }
+        assertThat(productRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenBodyOverLimit_whenKeyedRequest_thenReturnContentTooLarge() {
+        // given
+        String description = "x".repeat(70_000);
+
+        // when / then
+        adminClient.post()
+                .uri("/products")
+                .header(IdempotencyFilter.HEADER, UUID.randomUUID().toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"name\":\"Milk\",\"description\":\"" + description + "\",\"price\":5.5,\"quantity\":1}")
+                .exchange()
+                .expectStatus().isEqualTo(413);
+        assertThat(productRepository.count()).isZero();
+    }
+
+    @Test
+    void givenLostOptimisticLockRace_whenRetriedWithSameKey_thenRunsAgain() {
+        // given
+        String key = UUID.randomUUID().toString();
+        Long id = create(UUID.randomUUID().toString(), "Milk")
+                .expectBody(ProductResponse.class)
+                .returnResult()
+                .getResponseBody()
+                .id();
+        willThrow(Conflict.retryable("Product was modified concurrently: " + id))
+                .willCallRealMethod()
+                .given(spiedProductService()).updateProductPrice(eq(id), any());
+        updatePrice(key, id, 7.25).expectStatus().isEqualTo(409);
+
+        // when / then
+        updatePrice(key, id, 7.25)
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(IdempotencyFilter.REPLAYED_HEADER);
+        assertThat(productRepository.findById(id).orElseThrow().getPrice()).isEqualTo(7.25);
+    }
+
+    @Test
+    void givenPermanentConflict_whenRetriedWithSameKey_thenReplayConflict() {
+        // given
+        String key = UUID.randomUUID().toString();
+        create(UUID.randomUUID().toString(), "Milk").expectStatus().isCreated();
+        create(key, "Milk").expectStatus().isEqualTo(409);
+
+        // when / then
+        create(key, "Milk")
+                .expectStatus().isEqualTo(409)
+                .expectHeader().valueEquals(IdempotencyFilter.REPLAYED_HEADER, "true");
+    }
+
+    @Test
+    void givenServerError_whenRetriedWithSameKey_thenRunsAgain() {
+        // given
+        String key = UUID.randomUUID().toString();
+        willThrow(new IllegalStateException("Database unavailable"))
+                .willCallRealMethod()
+                .given(spiedProductService()).createProduct(any());
+        create(key, "Milk").expectStatus().isEqualTo(500);
+
+        // when / then
+        create(key, "Milk")
+                .expectStatus().isCreated()
+                .expectHeader().doesNotExist(IdempotencyFilter.REPLAYED_HEADER);
+        assertThat(productRepository.count()).isEqualTo(1);
+    }
+
+    /**
+     * The spy sits behind the transactional and validating proxy, so it is stubbed directly.
+     */
+    private ProductService spiedProductService() {
+        return AopTestUtils.getUltimateTargetObject(productService);
+    }
+
+    private RestTestClient.ResponseSpec updatePrice(String key, Long id, double price) {
+        return adminClient.patch()
+                .uri("/products/{id}/price", id)
+                .header(IdempotencyFilter.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ProductRequestMother.anUpdatePriceRequest(price))
+                .exchange();
+    }
+
+    private RestTestClient.ResponseSpec create(String key, String name) {
+        return adminClient.post()
+                .uri("/products")
+                .header(IdempotencyFilter.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ProductRequestMother.aCreateProductRequest(name))
+                .exchange();
+    }
+}
@@ -0,0 +1,115 @@
+package com.ing.hubs.store.infra.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyStoreUnitTest {
+
+    private static IdempotencyStore store(final Duration ttl, final int maxEntries) {
+        return store(ttl, maxEntries, Long.MAX_VALUE);
+    }
+
+    private static IdempotencyStore store(final Duration ttl, final int maxEntries, final long maxTotalBytes) {
+        return new IdempotencyStore(new IdempotencyProperties(
+                true, ttl, maxEntries, maxTotalBytes, 1024, 1024, Duration.ofSeconds(1)));
+    }
+
+    private static StoredResponse response(final int bytes) {
+        return new StoredResponse(201, "application/json", new byte[bytes]);
+    }
+
+    @Test
+    void claim_whenKeyAlreadyClaimed_returnsExistingEntry() {
+        // given
+        final IdempotencyStore store = store(Duration.ofMinutes(1), 10);
+        final IdempotencyStore.Claim first = store.claim("user\nkey", "abc");
+
+        // when
+        final IdempotencyStore.Claim second = store.claim("user\nkey", "abc");
+
+        // then
+        assertThat(first.owned()).isTrue();
+        assertThat(second.owned()).isFalse();
+        assertThat(second.entry()).isSameAs(first.entry());
+    }
+
+    @Test
+    void claim_whenEntryExpired_letsNewRequestOwnKey() {
+        // given
+        final IdempotencyStore store = store(Duration.ZERO, 10);
+        final IdempotencyStore.Claim first = store.claim("user\nkey", "abc");
+        store.complete(first.entry(), new StoredResponse(201, "application/json", new byte[0]));
+
+        // when
+        final IdempotencyStore.Claim second = store.claim("user\nkey", "def");
+
+        // then
+        assertThat(second.owned()).isTrue();
+        assertThat(second.entry()).isNotSameAs(first.entry());
+    }
+
+    @Test
+    void claim_whenOverCapacity_evictsOldestEntry() {
+        // given
+        final IdempotencyStore store = store(Duration.ofMinutes(1), 2);
+        store.complete(store.claim("user\n1", "a").entry(), response(1));
+        store.complete(store.claim("user\n2", "b").entry(), response(1));
+
+        // when
+        store.claim("user\n3", "c");
+
+        // then
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.claim("user\n1", "a").owned()).isTrue();
+    }
+
+    @Test
+    void claim_whenOverCapacity_keepsEntriesStillInFlight() {
+        // given
+        final IdempotencyStore store = store(Duration.ofMinutes(1), 2);
+        final IdempotencyStore.Claim inFlight = store.claim("user\n1", "a");
+        store.complete(store.claim("user\n2", "b").entry(), response(1));
+
+        // when
+        store.claim("user\n3", "c");
+
+        // then
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.claim("user\n1", "a").entry()).isSameAs(inFlight.entry());
+        assertThat(store.claim("user\n2", "b").owned()).isTrue();
+    }
+
+    @Test
+    void complete_whenOverByteBudget_evictsOldestEntriesUntilWithinBudget() {
+        // given
+        final IdempotencyStore store = store(Duration.ofMinutes(1), 10, 100);
+        store.complete(store.claim("user\n1", "a").entry(), response(40));
+        store.complete(store.claim("user\n2", "b").entry(), response(40));
+
+        // when
+        store.complete(store.claim("user\n3", "c").entry(), response(40));
+
+        // then
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.storedBytes()).isEqualTo(80);
+        assertThat(store.claim("user\n1", "a").owned()).isTrue();
+        assertThat(store.claim("user\n3", "c").owned()).isFalse();
+    }
+
+    @Test
+    void release_whenRequestFailed_wakesWaitersWithoutResponse() {
+        // given
+        final IdempotencyStore store = store(Duration.ofMinutes(1), 10);
+        final IdempotencyStore.Claim claim = store.claim("user\nkey", "abc");
+
+        // when
+        store.release("user\nkey", claim.entry());
+
+        // then
+        assertThat(claim.entry().response()).isCompletedWithValue(null);
+        assertThat(store.claim("user\nkey", "abc").owned()).isTrue();
+    }
+}
@@ -0,0 +1,126 @@
+package com.ing.hubs.store.infra.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+class ClientErrorLoggerUnitTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong nanoTime = new AtomicLong(Duration.ofHours(1).toNanos());
+    private final Logger logbackLogger = (Logger) LoggerFactory.getLogger(ClientErrorLogger.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void captureLog() {
+        appender.start();
+        logbackLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void releaseLog() {
+        logbackLogger.detachAppender(appender);
+    }
+
+    @Test
+    void log_whenSameMessageRepeats_countsEveryFailureAndSuppressesDuplicates() {
+        // given
+        final ClientErrorLogger logger = new ClientErrorLogger(
+                new ClientErrorLogProperties(Duration.ofMinutes(1), 100, 1000), registry, nanoTime::get);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            logger.log(NOT_FOUND, "Product not found with id: 1");
+        }
+        logger.log(CONFLICT, "Product already exists with name: Milk");
+
+        // then
+        assertThat(count("store.http.client.errors", "404")).isEqualTo(5);
+        assertThat(count("store.http.client.errors.suppressed", "404")).isEqualTo(4);
+        assertThat(count("store.http.client.errors", "409")).isEqualTo(1);
+        assertThat(count("store.http.client.errors.suppressed", "409")).isZero();
+    }
+
+    @Test
+    void log_whenDistinctMessagesExceedLineBudget_suppressesTheRest() {
+        // given
+        final ClientErrorLogger logger = new ClientErrorLogger(
+                new ClientErrorLogProperties(Duration.ofMinutes(1), 3, 1000), registry, nanoTime::get);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            logger.log(NOT_FOUND, "Product not found with id: " + i);
+        }
+
+        // then
+        assertThat(count("store.http.client.errors", "404")).isEqualTo(10);
+        assertThat(count("store.http.client.errors.suppressed", "404")).isEqualTo(7);
+    }
+
+    @Test
+    void log_whenNextSecondStarts_logsAgainAndReportsSuppressedOccurrences() {
+        // given
+        final ClientErrorLogger logger = new ClientErrorLogger(
+                new ClientErrorLogProperties(Duration.ofSeconds(1), 1, 100), registry, nanoTime::get);
+        logger.log(NOT_FOUND, "Product not found with id: 1");
+        logger.log(NOT_FOUND, "Product not found with id: 1");
+        logger.log(NOT_FOUND, "Product not found with id: 2");
+
+        // when
+        nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+        logger.log(NOT_FOUND, "Product not found with id: 2");
+        logger.log(NOT_FOUND, "Product not found with id: 1");
+        nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+        logger.log(NOT_FOUND, "Product not found with id: 1");
+
+        // then
+        assertThat(lines()).containsExactly(
+                "Request failed: 404 - Product not found with id: 1",
+                "Request failed: 404 - Product not found with id: 2 (1 similar suppressed)",
+                "Request failed: 404 - Product not found with id: 1 (2 similar suppressed)");
+        assertThat(count("store.http.client.errors", "404")).isEqualTo(6);
+        assertThat(count("store.http.client.errors.suppressed", "404")).isEqualTo(3);
+    }
+
+    @Test
+    void log_whenTrackedMessagesAreEvicted_reportsTheirPendingOccurrences() {
+        // given
+        final ClientErrorLogger logger = new ClientErrorLogger(
+                new ClientErrorLogProperties(Duration.ofMinutes(1), 100, 2), registry, nanoTime::get);
+        logger.log(NOT_FOUND, "Product not found with id: 1");
+        logger.log(NOT_FOUND, "Product not found with id: 1");
+        logger.log(NOT_FOUND, "Product not found with id: 1");
+        logger.log(CONFLICT, "Product already exists with name: Milk");
+
+        // when
+        logger.log(NOT_FOUND, "Product not found with id: 2");
+
+        // then
+        assertThat(lines()).containsExactly(
+                "Request failed: 404 - Product not found with id: 1",
+                "Request failed: 409 - Product already exists with name: Milk",
+                "Request failed: 404 - 2 similar suppressed across evicted messages",
+                "Request failed: 404 - Product not found with id: 2");
+    }
+
+    private List<String> lines() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    private double count(final String name, final String status) {
+        return registry.get(name).tag("status", status).counter().count();
+    }
+}
@@ -0,0 +1,38 @@
+package com.ing.hubs.store.infra.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitPropertiesUnitTest {
+
+    @Test
+    void bind_whenNothingConfigured_usesSeparateReadAndWriteDefaults() {
+        // given
+        final Binder binder = new Binder(new MapConfigurationPropertySource(Map.of()));
+
+        // when
+        final RateLimitProperties properties = binder.bindOrCreate("store.rate-limit", RateLimitProperties.class);
+
+        // then
+        assertThat(properties.read()).isEqualTo(new RateLimitProperties.Read(200, 100));
+        assertThat(properties.write()).isEqualTo(new RateLimitProperties.Write(50, 20));
+    }
+
+    @Test
+    void bind_whenOnlyWriteCapacityConfigured_keepsWriteRefillDefault() {
+        // given
+        final Binder binder = new Binder(new MapConfigurationPropertySource(Map.of(
+                "store.rate-limit.write.capacity", "80")));
+
+        // when
+        final RateLimitProperties properties = binder.bindOrCreate("store.rate-limit", RateLimitProperties.class);
+
+        // then
+        assertThat(properties.write()).isEqualTo(new RateLimitProperties.Write(80, 20));
+    }
+}
@@ -0,0 +1,77 @@
+package com.ing.hubs.store.infra.ratelimit;
+
+import com.ing.hubs.store.infra.web.EndpointClass;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contention benchmark for {@link RateLimiter#tryAcquire}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+class RateLimiterBenchmark {
+
+    private static final int THREADS = Runtime.getRuntime().availableProcessors() * 2;
+    private static final int PRINCIPALS = 8;
+    private static final int WARMUP_OPERATIONS = 200_000;
+    private static final int MEASURED_OPERATIONS = 2_000_000;
+
+    @Test
+    void tryAcquire_underContention_staysBelowOneMicrosecond() throws Exception {
+        // given
+        final RateLimitProperties properties = new RateLimitProperties(
+                true,
+                new RateLimitProperties.Read(1_000, 1_000_000),
+                new RateLimitProperties.Write(1_000, 1_000_000),
+                Duration.ofMinutes(10),
+                Set.of()
+        );
+        final RateLimiter limiter = new RateLimiter(properties);
+        run(limiter, WARMUP_OPERATIONS);
+
+        // when
+        final double nanosPerOperation = run(limiter, MEASURED_OPERATIONS);
+
+        // then
+        log.info("RateLimiter.tryAcquire: {} threads, {} principals, {} ns/op",
+                THREADS, PRINCIPALS, String.format("%.1f", nanosPerOperation));
+        assertThat(nanosPerOperation).isLessThan(1_000);
+    }
+
+    private static double run(final RateLimiter limiter, final int operationsPerThread) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Long>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                final String principal = "principal-" + (t % PRINCIPALS);
+                final EndpointClass endpointClass = t % 4 == 0 ? EndpointClass.WRITE : EndpointClass.READ;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    final long begin = System.nanoTime();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        limiter.tryAcquire(principal, endpointClass);
+                    }
+                    return System.nanoTime() - begin;
+                }));
+            }
+            start.countDown();
+            long totalNanos = 0;
+            for (Future<Long> result : results) {
+                totalNanos += result.get();
+            }
+            return (double) totalNanos / ((long) THREADS * operationsPerThread);
+        }
+    }
+}
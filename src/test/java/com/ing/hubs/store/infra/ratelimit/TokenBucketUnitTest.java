@@ -0,0 +1,57 @@
+package com.ing.hubs.store.infra.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketUnitTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void tryAcquire_whenWithinCapacity_grantsEveryToken() {
+        // given
+        final TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        // when / then
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+    }
+
+    @Test
+    void tryAcquire_whenExhausted_returnsTimeUntilNextToken() {
+        // given
+        final TokenBucket bucket = new TokenBucket(2, 2, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        // when
+        final long wait = bucket.tryAcquire(0);
+
+        // then
+        assertThat(wait).isEqualTo(SECOND / 2);
+    }
+
+    @Test
+    void tryAcquire_whenRefilled_grantsTokenAgain() {
+        // given
+        final TokenBucket bucket = new TokenBucket(1, 1, 0);
+        bucket.tryAcquire(0);
+
+        // when / then
+        assertThat(bucket.tryAcquire(SECOND / 2)).isPositive();
+        assertThat(bucket.tryAcquire(SECOND)).isZero();
+    }
+
+    @Test
+    void isIdle_whenFullForLongerThanTimeout_returnsTrue() {
+        // given
+        final TokenBucket bucket = new TokenBucket(5, 1, 0);
+        bucket.tryAcquire(0);
+
+        // when / then
+        assertThat(bucket.isIdle(SECOND, SECOND)).isFalse();
+        assertThat(bucket.isIdle(3 * SECOND, SECOND)).isTrue();
+    }
+}
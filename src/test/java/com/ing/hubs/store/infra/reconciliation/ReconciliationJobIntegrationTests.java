@@ -0,0 +1,139 @@
+package com.ing.hubs.store.infra.reconciliation;
+
+import com.ing.hubs.store.domain.entity.Product;
+import com.ing.hubs.store.domain.repository.ProductRepository;
+import com.ing.hubs.store.domain.repository.ReservationRepository;
+import com.ing.hubs.store.domain.utils.ProductMother;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "store.reconciliation.chunk-size=3",
+        "store.reconciliation.parallelism=2"
+})
+@ActiveProfiles("test")
+class ReconciliationJobIntegrationTests {
+
+    @Autowired
+    private ReconciliationJob job;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TempDir
+    private Path directory;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        productRepository.deleteAll();
+        ids = IntStream.range(0, 10)
+                .mapToObj(i -> productRepository.save(ProductMother.aProductEntity("Product " + i, 10).withId(null)).getId())
+                .sorted()
+                .toList();
+    }
+
+    @Test
+    void givenSnapshot_whenRun_thenDifferingQuantitiesAreCorrectedAndCheckpointIsRemoved() throws Exception {
+        // given
+        final Path snapshot = snapshot(i -> 20 + i, -1L);
+        final Path checkpoint = directory.resolve("reconciliation.checkpoint");
+
+        // when
+        final boolean complete = job.run(snapshot, checkpoint);
+
+        // then
+        assertThat(complete).isTrue();
+        assertThat(checkpoint).doesNotExist();
+        for (int i = 0; i < ids.size(); i++) {
+            assertThat(quantityOf(ids.get(i))).isEqualTo(20 + i);
+        }
+    }
+
+    @Test
+    void givenCheckpointOfSameSnapshot_whenRun_thenCompletedChunksAreSkipped() throws Exception {
+        // given
+        final Path snapshot = snapshot(i -> 0, null);
+        final Path checkpoint = directory.resolve("reconciliation.checkpoint");
+        Files.writeString(checkpoint, Snapshot.read(snapshot).hash() + "\n0\n2\n");
+
+        // when
+        final boolean complete = job.run(snapshot, checkpoint);
+
+        // then
+        assertThat(complete).isTrue();
+        for (int i = 0; i < ids.size(); i++) {
+            final int chunk = i / 3;
+            assertThat(quantityOf(ids.get(i))).isEqualTo(chunk == 0 || chunk == 2 ? 10 : 0);
+        }
+    }
+
+    @Test
+    void givenCheckpointOfOtherSnapshot_whenRun_thenEveryChunkIsReconciled() throws Exception {
+        // given
+        final Path snapshot = snapshot(i -> 0, null);
+        final Path checkpoint = directory.resolve("reconciliation.checkpoint");
+        Files.writeString(checkpoint, "stale\n0\n1\n2\n");
+
+        // when
+        job.run(snapshot, checkpoint);
+
+        // then
+        assertThat(productRepository.findAll()).extracting(Product::getQuantity).containsOnly(0);
+    }
+
+    @Test
+    void givenUnwritableCheckpoint_whenRun_thenCommittedChunksStillCount() throws Exception {
+        // given
+        final Path snapshot = snapshot(i -> 30, null);
+        final Path notADirectory = Files.writeString(directory.resolve("file"), "");
+        final double failedBefore = meterRegistry.get("store.reconciliation.chunks.failed").counter().count();
+
+        // when
+        final boolean complete = job.run(snapshot, notADirectory.resolve("reconciliation.checkpoint"));
+
+        // then
+        assertThat(complete).isTrue();
+        assertThat(productRepository.findAll()).extracting(Product::getQuantity).containsOnly(30);
+        assertThat(meterRegistry.get("store.reconciliation.chunks.failed").counter().count()).isEqualTo(failedBefore);
+    }
+
+    /**
+     * Writes the snapshot in reverse id order, as the job must not rely on the file being sorted.
+     */
+    private Path snapshot(final IntUnaryOperator quantity, final Long unknownId) throws Exception {
+        final List<String> lines = new ArrayList<>();
+        lines.add("product_id,quantity");
+        lines.add("# exported by the warehouse");
+        for (int i = ids.size() - 1; i >= 0; i--) {
+            lines.add(ids.get(i) + "," + quantity.applyAsInt(i));
+        }
+        if (unknownId != null) {
+            lines.add(unknownId + ",5");
+        }
+        return Files.write(directory.resolve("snapshot.csv"), lines);
+    }
+
+    private int quantityOf(final Long id) {
+        return productRepository.findById(id).orElseThrow().getQuantity();
+    }
+}
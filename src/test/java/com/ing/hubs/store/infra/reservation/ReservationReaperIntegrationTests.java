@@ -0,0 +1,127 @@
+package com.ing.hubs.store.infra.reservation;
+
+import com.ing.hubs.store.domain.entity.Reservation;
+import com.ing.hubs.store.domain.entity.ReservationLine;
+import com.ing.hubs.store.domain.entity.ReservationStatus;
+import com.ing.hubs.store.domain.exception.Conflict;
+import com.ing.hubs.store.domain.repository.ProductRepository;
+import com.ing.hubs.store.domain.repository.ReservationRepository;
+import com.ing.hubs.store.domain.service.ReservationService;
+import com.ing.hubs.store.domain.utils.ProductMother;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "store.reservation.ttl=1ms",
+        "store.reservation.reap-batch-size=10",
+        "store.reservation.reap-interval=PT1H"
+})
+@ActiveProfiles("test")
+class ReservationReaperIntegrationTests {
+
+    private static final int STOCK = 10_000;
+    private static final int CUSTOMERS = 8;
+    private static final int REAPERS = 2;
+    private static final int RESERVATIONS_PER_CUSTOMER = 100;
+
+    @Autowired
+    private ReservationReaper reaper;
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void givenReaperRunningConcurrently_whenReserveAndCancel_thenNoDeadlockAndAllStockReturns() throws Exception {
+        // given
+        final List<Long> productIds = IntStream.range(0, 4)
+                .mapToObj(i -> productRepository.save(ProductMother.aProductEntity("Product " + i, STOCK).withId(null)).getId())
+                .toList();
+        final AtomicBoolean customersDone = new AtomicBoolean();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> customers = new ArrayList<>();
+        final List<Future<?>> reapers = new ArrayList<>();
+
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(CUSTOMERS + REAPERS)) {
+            for (int t = 0; t < REAPERS; t++) {
+                reapers.add(executor.submit(() -> {
+                    start.await();
+                    while (!customersDone.get()) {
+                        reaper.reap(Instant.now());
+                    }
+                    return null;
+                }));
+            }
+            for (int t = 0; t < CUSTOMERS; t++) {
+                customers.add(executor.submit(() -> {
+                    start.await();
+                    final ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < RESERVATIONS_PER_CUSTOMER; i++) {
+                        final List<Long> shuffled = new ArrayList<>(productIds);
+                        Collections.shuffle(shuffled, random);
+                        final List<ReservationLine> lines = shuffled.subList(0, 2 + random.nextInt(3))
+                                .stream()
+                                .map(id -> new ReservationLine(id, 1 + random.nextInt(3)))
+                                .toList();
+                        final Reservation reservation = reservationService.reserve("user", lines);
+                        if (random.nextBoolean()) {
+                            try {
+                                reservationService.cancel(reservation.getId(), "user");
+                            } catch (Conflict ex) {
+                                // the reaper expired it first
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            try {
+                for (Future<?> customer : customers) {
+                    customer.get();
+                }
+            } finally {
+                customersDone.set(true);
+            }
+            for (Future<?> reaperRun : reapers) {
+                reaperRun.get();
+            }
+        }
+        reaper.reap(Instant.now());
+
+        // then
+        assertThat(reservationRepository.findAll())
+                .hasSize(CUSTOMERS * RESERVATIONS_PER_CUSTOMER)
+                .extracting(Reservation::getStatus)
+                .doesNotContain(ReservationStatus.PENDING);
+        for (Long id : productIds) {
+            assertThat(productRepository.findById(id).orElseThrow().getQuantity()).isEqualTo(STOCK);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.ing.hubs.store.infra.startup;
+
+import com.ing.hubs.store.domain.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureRestTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.client.RestTestClient;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@AutoConfigureRestTestClient
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "store.startup.warmup.enabled=true",
+                "store.startup.warmup.batch-size=2",
+                "store.startup.warmup.min-iterations=2",
+                "store.startup.warmup.max-iterations=4"
+        }
+)
+class WarmupIntegrationTests {
+
+    @Autowired
+    private RestTestClient client;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ReadinessProbe readinessProbe;
+
+    @Test
+    void givenWarmupRunning_whenReadinessProbed_thenRefusesTraffic() {
+        // given / when / then
+        assertThat(readinessProbe.stateDuringWarmup).hasValue(ReadinessState.REFUSING_TRAFFIC);
+        assertThat(readinessProbe.statusDuringWarmup).hasValue(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void givenWarmupCompleted_whenReadinessProbed_thenReportsUp() {
+        // given / when / then
+        client.get()
+                .uri("/actuator/health/readiness")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void givenWarmupCompleted_thenIterationsAreRecordedAndNoScratchDataRemains() {
+        // given / when
+        final double iterations = meterRegistry.get("store.startup.warmup.iterations").gauge().value();
+
+        // then
+        assertThat(iterations).isBetween(2.0, 4.0);
+        assertThat(meterRegistry.get("store.startup.warmup.duration").gauge().value()).isPositive();
+        assertThat(productRepository.count()).isZero();
+    }
+
+    @TestConfiguration
+    static class ReadinessProbeConfig {
+
+        @Bean
+        ReadinessProbe readinessProbe(final ApplicationAvailability availability) {
+            return new ReadinessProbe(availability);
+        }
+    }
+
+    /**
+     * Probes readiness from inside the first warm-up request, the only traffic the instance
+     * receives before the tests run.
+     */
+    static class ReadinessProbe extends OncePerRequestFilter {
+
+        private final ApplicationAvailability availability;
+        private final AtomicReference<ReadinessState> stateDuringWarmup = new AtomicReference<>();
+        private final AtomicReference<HttpStatusCode> statusDuringWarmup = new AtomicReference<>();
+
+        ReadinessProbe(final ApplicationAvailability availability) {
+            this.availability = availability;
+        }
+
+        @Override
+        protected void doFilterInternal(
+                final HttpServletRequest request,
+                final HttpServletResponse response,
+                final FilterChain chain
+        ) throws ServletException, IOException {
+            if (request.getRequestURI().startsWith("/products")
+                    && stateDuringWarmup.compareAndSet(null, availability.getReadinessState())) {
+                statusDuringWarmup.set(RestClient.create("http://localhost:" + request.getLocalPort())
+                        .get()
+                        .uri("/actuator/health/readiness")
+                        .exchange((probe, probeResponse) -> probeResponse.getStatusCode()));
+            }
+            chain.doFilter(request, response);
+        }
+    }
+}
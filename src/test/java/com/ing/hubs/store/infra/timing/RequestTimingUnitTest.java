@@ -0,0 +1,64 @@
+package com.ing.hubs.store.infra.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTimingUnitTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.end();
+    }
+
+    @Test
+    void start_whenNoRequestIsTimed_thenNothingIsRecorded() {
+        // when
+        RequestTiming.start(TimingPhase.DB);
+        RequestTiming.stop(TimingPhase.DB);
+
+        // then
+        assertThat(RequestTiming.time(TimingPhase.DB, () -> "result")).isEqualTo("result");
+    }
+
+    @Test
+    void start_whenNested_thenOnlyOutermostPairIsCounted() {
+        // given
+        RequestTiming timing = RequestTiming.begin();
+
+        // when
+        RequestTiming.start(TimingPhase.DB);
+        RequestTiming.start(TimingPhase.DB);
+        LockSupport.parkNanos(2_000_000);
+        RequestTiming.stop(TimingPhase.DB);
+        long afterInner = timing.elapsed(TimingPhase.DB);
+        RequestTiming.stop(TimingPhase.DB);
+        RequestTiming.stop(TimingPhase.DB);
+
+        // then
+        assertThat(afterInner).isZero();
+        assertThat(timing.elapsed(TimingPhase.DB)).isGreaterThanOrEqualTo(2_000_000);
+        assertThat(timing.finish()).isGreaterThanOrEqualTo(timing.elapsed(TimingPhase.DB));
+    }
+
+    @Test
+    void finish_whenPhaseIsOpen_thenItIsClosed() {
+        // given
+        RequestTiming timing = RequestTiming.begin();
+        RequestTiming.start(TimingPhase.AUTH);
+        LockSupport.parkNanos(1_000_000);
+
+        // when
+        long total = timing.finish();
+
+        // then
+        assertThat(timing.elapsed(TimingPhase.AUTH)).isPositive().isLessThanOrEqualTo(total);
+        assertThat(timing.toHeader(total))
+                .startsWith("auth;dur=")
+                .contains("validation;dur=0.00", "db;dur=0.00", "serialization;dur=0.00")
+                .contains("total;dur=");
+    }
+}
@@ -0,0 +1,110 @@
+package com.ing.hubs.store.infra.timing;
+
+import com.ing.hubs.store.application.dto.ProductResponse;
+import com.ing.hubs.store.application.utils.ProductRequestMother;
+import com.ing.hubs.store.domain.repository.ProductRepository;
+import com.ing.hubs.store.domain.repository.ReservationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureRestTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@AutoConfigureRestTestClient
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "store.server-timing.sample-rate=1.0"
+)
+class ServerTimingIntegrationTests {
+
+    @Autowired
+    private RestTestClient notAuthenticatedClient;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private RestTestClient adminClient;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        productRepository.deleteAll();
+        String token = Base64.getEncoder().encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8));
+        adminClient = notAuthenticatedClient.mutate()
+                .defaultHeaders(headers -> headers.set(HttpHeaders.AUTHORIZATION, "Basic " + token))
+                .build();
+    }
+
+    @Test
+    void givenCreate_whenSampled_thenEveryPhaseIsTimed() {
+        // given
+        long recordedBefore = meterRegistry.get("store.request.phase").tag("phase", "db").timer().count();
+
+        // when
+        String header = adminClient.post()
+                .uri("/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ProductRequestMother.aCreateProductRequest("Milk"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(ProductResponse.class)
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(ServerTimingFilter.HEADER);
+
+        // then
+        Map<String, Double> durations = parse(header);
+        assertThat(durations).containsOnlyKeys("auth", "validation", "db", "serialization", "total");
+        assertThat(durations.get("auth")).isPositive();
+        assertThat(durations.get("validation")).isPositive();
+        assertThat(durations.get("db")).isPositive();
+        assertThat(durations.get("serialization")).isPositive();
+        assertThat(durations.get("total"))
+                .isGreaterThanOrEqualTo(durations.get("auth") + durations.get("db") + durations.get("serialization"));
+        assertThat(meterRegistry.get("store.request.phase").tag("phase", "db").timer().count())
+                .isGreaterThan(recordedBefore);
+    }
+
+    @Test
+    void givenBadCredentials_whenSampled_thenAuthenticationIsStillTimed() {
+        // when
+        String header = notAuthenticatedClient.get()
+                .uri("/products")
+                .header(HttpHeaders.AUTHORIZATION, "Basic " + Base64.getEncoder()
+                        .encodeToString("admin:wrong".getBytes(StandardCharsets.UTF_8)))
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .returnResult(Void.class)
+                .getResponseHeaders()
+                .getFirst(ServerTimingFilter.HEADER);
+
+        // then
+        Map<String, Double> durations = parse(header);
+        assertThat(durations.get("auth")).isPositive();
+        assertThat(durations.get("db")).isZero();
+    }
+
+    private static Map<String, Double> parse(final String header) {
+        assertThat(header).isNotNull();
+        return Arrays.stream(header.split(",\\s*"))
+                .map(metric -> metric.split(";dur="))
+                .collect(Collectors.toMap(parts -> parts[0], parts -> Double.parseDouble(parts[1])));
+    }
+}